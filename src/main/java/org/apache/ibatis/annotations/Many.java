@@ -33,4 +33,13 @@ public @interface Many {
 
   FetchType fetchType() default FetchType.DEFAULT;
 
+  /**
+   * The maximum number of rows whose nested results are loaded with one execution of the nested select. When greater
+   * than zero, the nested select is called with the keys of several rows in a parameter named {@code list}, and the
+   * column must be composite (e.g. {@code {parentId=id}}) so each nested result can be assigned by those properties.
+   *
+   * @since 3.5.1
+   */
+  int batchSize() default 0;
+
 }
@@ -23,10 +23,17 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 import org.apache.ibatis.annotations.Flush;
 import org.apache.ibatis.annotations.MapKey;
 import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.cursor.defaults.CursorPublisher;
+import org.apache.ibatis.cursor.defaults.CursorSpliterator;
+import org.apache.ibatis.executor.result.DefaultArrayResultHandler;
+import org.apache.ibatis.executor.result.DefaultCollectionResultHandler;
+import org.apache.ibatis.executor.result.DefaultMapResultHandler;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.SqlCommandType;
 import org.apache.ibatis.mapping.StatementType;
@@ -34,9 +41,12 @@ import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.reflection.ParamNameResolver;
 import org.apache.ibatis.reflection.TypeParameterResolver;
 import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.LocalCacheScope;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.defaults.DefaultSqlSessionFactory;
 
 /**
  * @author Clinton Begin
@@ -48,13 +58,67 @@ public class MapperMethod {
 
 	private final SqlCommand command;
 	private final MethodSignature method;
+	private final boolean resultsHandleable;
 
 	public MapperMethod(Class<?> mapperInterface, Method method, Configuration config) {
 		this.command = new SqlCommand(config, mapperInterface, method);
 		this.method = new MethodSignature(config, mapperInterface, method);
+		this.resultsHandleable = command.getType() == SqlCommandType.SELECT
+				&& isResultsHandleable(config.getMappedStatement(command.getName()));
+	}
+
+	/**
+	 * Whether the rows of a statement can be fed to a result handler instead of being collected into a list first.
+	 * Result handlers bypass the second level cache and cannot take the rows of nested result maps or of several
+	 * result sets. Nested selects are not batched or run in parallel for a result handler, so they keep the list.
+	 */
+	private static boolean isResultsHandleable(MappedStatement ms) {
+		return (ms.getCache() == null || !ms.isUseCache()) && ms.getStatementType() != StatementType.CALLABLE
+				&& ms.getResultSets() == null && ms.getResultMaps().size() == 1 && !ms.hasNestedResultMaps()
+				&& !ms.getResultMaps().get(0).hasNestedQueries();
 	}
 
 	public Object execute(SqlSession sqlSession, Object[] args) {
+		if (method.returnsFuture()) {
+			return executeAsync(sqlSession.getConfiguration(), args);
+		}
+		if (method.returnsPublisher()) {
+			return executeForPublisher(sqlSession.getConfiguration(), args);
+		}
+		return executeSync(sqlSession, args);
+	}
+
+	/**
+	 * Executes the statement in a session of its own on the async executor of the configuration, so concurrent calls
+	 * do not share the session of the caller. The session is committed when the statement succeeds, outside of any
+	 * transaction of the caller, which neither sees nor rolls back its changes.
+	 */
+	private CompletableFuture<Object> executeAsync(Configuration configuration, Object[] args) {
+		SqlSessionFactory sqlSessionFactory = new DefaultSqlSessionFactory(configuration);
+		return CompletableFuture.supplyAsync(() -> {
+			try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+				Object result = executeSync(sqlSession, args);
+				sqlSession.commit();
+				return result;
+			}
+		}, configuration.getAsyncExecutor());
+	}
+
+	/**
+	 * Streams the rows of a cursor to each subscriber. Like asynchronous calls, every subscription runs in a session of
+	 * its own on the async executor of the configuration.
+	 */
+	private Object executeForPublisher(Configuration configuration, Object[] args) {
+		if (command.getType() != SqlCommandType.SELECT) {
+			throw new BindingException("Mapper method '" + command.getName() + "' must be a select to return a Flow.Publisher.");
+		}
+		Object param = method.convertArgsToSqlCommandParam(args);
+		RowBounds rowBounds = method.hasRowBounds() ? method.extractRowBounds(args) : RowBounds.DEFAULT;
+		return CursorPublisher.newPublisher(new DefaultSqlSessionFactory(configuration),
+				sqlSession -> sqlSession.selectCursor(command.getName(), param, rowBounds), configuration.getAsyncExecutor());
+	}
+
+	private Object executeSync(SqlSession sqlSession, Object[] args) {
 		Object result;
 		// 执行的四种情况insert|update|delete|select 分别调用了sqlSession 的四种方法执行
 		switch (command.getType()) {
@@ -88,6 +152,9 @@ public class MapperMethod {
 			} else if (method.returnsCursor()) {
 				// 返回为指针的
 				result = executeForCursor(sqlSession, args);
+			} else if (method.returnsStream()) {
+				// 返回为 Stream 的，由指针逐行读取
+				result = CursorSpliterator.newStream(executeForCursor(sqlSession, args));
 			} else {
 				// 单条记录的
 				Object param = method.convertArgsToSqlCommandParam(args);
@@ -148,6 +215,19 @@ public class MapperMethod {
 	private <E> Object executeForMany(SqlSession sqlSession, Object[] args) {
 		List<E> result;
 		Object param = method.convertArgsToSqlCommandParam(args);
+		if (!returnsListType() && canHandleResults(sqlSession)) {
+			// feed the rows straight into the declared array or collection
+			if (method.getReturnType().isArray()) {
+				DefaultArrayResultHandler resultHandler = new DefaultArrayResultHandler(
+						method.getReturnType().getComponentType());
+				select(sqlSession, param, args, resultHandler);
+				return resultHandler.getArray();
+			}
+			DefaultCollectionResultHandler resultHandler = new DefaultCollectionResultHandler(
+					sqlSession.getConfiguration(), method.getReturnType());
+			select(sqlSession, param, args, resultHandler);
+			return resultHandler.getCollection();
+		}
 		if (method.hasRowBounds()) {
 			RowBounds rowBounds = method.extractRowBounds(args);
 			result = sqlSession.selectList(command.getName(), param, rowBounds);
@@ -201,6 +281,14 @@ public class MapperMethod {
 	private <K, V> Map<K, V> executeForMap(SqlSession sqlSession, Object[] args) {
 		Map<K, V> result;
 		Object param = method.convertArgsToSqlCommandParam(args);
+		if (canHandleResults(sqlSession)) {
+			Configuration configuration = sqlSession.getConfiguration();
+			DefaultMapResultHandler<K, V> resultHandler = new DefaultMapResultHandler<>(method.getMapKey(),
+					configuration.getObjectFactory(), configuration.getObjectWrapperFactory(),
+					configuration.getReflectorFactory());
+			select(sqlSession, param, args, resultHandler);
+			return resultHandler.getMappedResults();
+		}
 		if (method.hasRowBounds()) {
 			RowBounds rowBounds = method.extractRowBounds(args);
 			result = sqlSession.selectMap(command.getName(), param, method.getMapKey(), rowBounds);
@@ -210,6 +298,33 @@ public class MapperMethod {
 		return result;
 	}
 
+	/**
+	 * Whether the declared return type can take the list of rows as it is.
+	 */
+	private boolean returnsListType() {
+		Class<?> returnType = method.getReturnType();
+		return returnType.isAssignableFrom(List.class) || List.class.isAssignableFrom(returnType);
+	}
+
+	/**
+	 * Plugins may expect to see and return the list of rows, so they keep it. Queries with a result handler are not
+	 * served from the local cache either, so it is only used when the local cache does not outlive the statement.
+	 */
+	private boolean canHandleResults(SqlSession sqlSession) {
+		Configuration configuration = sqlSession.getConfiguration();
+		return resultsHandleable && configuration.getLocalCacheScope() == LocalCacheScope.STATEMENT
+				&& configuration.getInterceptors().isEmpty();
+	}
+
+	private void select(SqlSession sqlSession, Object param, Object[] args, ResultHandler<?> resultHandler) {
+		if (method.hasRowBounds()) {
+			RowBounds rowBounds = method.extractRowBounds(args);
+			sqlSession.select(command.getName(), param, rowBounds, resultHandler);
+		} else {
+			sqlSession.select(command.getName(), param, resultHandler);
+		}
+	}
+
 	public static class ParamMap<V> extends HashMap<String, V> {
 
 		private static final long serialVersionUID = -2212268410512043556L;
@@ -285,7 +400,10 @@ public class MapperMethod {
 		private final boolean returnsMap;
 		private final boolean returnsVoid;
 		private final boolean returnsCursor;
+		private final boolean returnsStream;
 		private final boolean returnsOptional;
+		private final boolean returnsFuture;
+		private final boolean returnsPublisher;
 		private final Class<?> returnType;
 		private final String mapKey;
 		private final Integer resultHandlerIndex;
@@ -294,19 +412,38 @@ public class MapperMethod {
 
 		public MethodSignature(Configuration configuration, Class<?> mapperInterface, Method method) {
 			Type resolvedReturnType = TypeParameterResolver.resolveReturnType(method, mapperInterface);
+			this.returnsFuture = CompletableFuture.class.equals(method.getReturnType());
+			this.returnsPublisher = CursorPublisher.isPublisherType(method.getReturnType());
+			if (this.returnsFuture || this.returnsPublisher) {
+				// the statement is mapped to the type the future completes with or the publisher emits
+				resolvedReturnType = resolvedReturnType instanceof ParameterizedType
+						? ((ParameterizedType) resolvedReturnType).getActualTypeArguments()[0]
+						: Object.class;
+			}
 			if (resolvedReturnType instanceof Class<?>) {
 				this.returnType = (Class<?>) resolvedReturnType;
 			} else if (resolvedReturnType instanceof ParameterizedType) {
 				this.returnType = (Class<?>) ((ParameterizedType) resolvedReturnType).getRawType();
+			} else if (this.returnsFuture || this.returnsPublisher) {
+				this.returnType = Object.class;
 			} else {
 				this.returnType = method.getReturnType();
 			}
-			this.returnsVoid = void.class.equals(this.returnType);
+			this.returnsVoid = void.class.equals(this.returnType) || (this.returnsFuture && Void.class.equals(this.returnType));
 			this.returnsMany = configuration.getObjectFactory().isCollection(this.returnType)
 					|| this.returnType.isArray();
 			this.returnsCursor = Cursor.class.equals(this.returnType);
+			this.returnsStream = Stream.class.equals(this.returnType);
 			this.returnsOptional = Optional.class.equals(this.returnType);
-			this.mapKey = getMapKey(method);
+			if (this.returnsFuture && (this.returnsCursor || this.returnsStream)) {
+				throw new BindingException("Mapper method '" + method.getName() + "' cannot return a "
+						+ this.returnType.getSimpleName() + " asynchronously because the cursor is closed with its session.");
+			}
+			if (this.returnsPublisher && (this.returnsCursor || this.returnsStream || this.returnsMany)) {
+				throw new BindingException("Mapper method '" + method.getName()
+						+ "' must publish single rows, not " + this.returnType.getName() + ".");
+			}
+			this.mapKey = getMapKey(method, this.returnType);
 			this.returnsMap = this.mapKey != null;
 			this.rowBoundsIndex = getUniqueParamIndex(method, RowBounds.class);
 			this.resultHandlerIndex = getUniqueParamIndex(method, ResultHandler.class);
@@ -357,6 +494,18 @@ public class MapperMethod {
 			return returnsCursor;
 		}
 
+		/**
+		 * return whether return type is {@code java.util.stream.Stream}. The statement is executed when the method is
+		 * called and the stream reads the rows through its cursor, so it has to be closed like one unless it is read to
+		 * the end.
+		 *
+		 * @return return {@code true}, if return type is {@code java.util.stream.Stream}
+		 * @since 3.5.1
+		 */
+		public boolean returnsStream() {
+			return returnsStream;
+		}
+
 		/**
 		 * return whether return type is {@code java.util.Optional}.
 		 * 
@@ -367,6 +516,28 @@ public class MapperMethod {
 			return returnsOptional;
 		}
 
+		/**
+		 * return whether return type is {@code java.util.concurrent.CompletableFuture}. The other methods then describe
+		 * the type the future completes with.
+		 *
+		 * @return return {@code true}, if return type is {@code java.util.concurrent.CompletableFuture}
+		 * @since 3.5.1
+		 */
+		public boolean returnsFuture() {
+			return returnsFuture;
+		}
+
+		/**
+		 * return whether return type is {@code java.util.concurrent.Flow.Publisher}. The other methods then describe the
+		 * type of the published rows.
+		 *
+		 * @return return {@code true}, if return type is {@code java.util.concurrent.Flow.Publisher}
+		 * @since 3.5.1
+		 */
+		public boolean returnsPublisher() {
+			return returnsPublisher;
+		}
+
 		private Integer getUniqueParamIndex(Method method, Class<?> paramType) {
 			Integer index = null;
 			final Class<?>[] argTypes = method.getParameterTypes();
@@ -383,9 +554,9 @@ public class MapperMethod {
 			return index;
 		}
 
-		private String getMapKey(Method method) {
+		private String getMapKey(Method method, Class<?> returnType) {
 			String mapKey = null;
-			if (Map.class.isAssignableFrom(method.getReturnType())) {
+			if (Map.class.isAssignableFrom(returnType)) {
 				final MapKey mapKeyAnnotation = method.getAnnotation(MapKey.class);
 				if (mapKeyAnnotation != null) {
 					mapKey = mapKeyAnnotation.value();
@@ -1,5 +1,5 @@
 /**
- *    Copyright 2009-2018 the original author or authors.
+ *    Copyright 2009-2019 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -16,14 +16,18 @@
 package org.apache.ibatis.binding;
 
 import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.apache.ibatis.lang.UsesJava8;
 import org.apache.ibatis.reflection.ExceptionUtil;
+import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.SqlSession;
 
 /**
@@ -33,14 +37,34 @@ import org.apache.ibatis.session.SqlSession;
 public class MapperProxy<T> implements InvocationHandler, Serializable {
 
   private static final long serialVersionUID = -6424540398559729838L;
+  private static final int ALLOWED_MODES = MethodHandles.Lookup.PRIVATE | MethodHandles.Lookup.PROTECTED
+      | MethodHandles.Lookup.PACKAGE | MethodHandles.Lookup.PUBLIC;
+  private static final Method privateLookupInMethod;
   private final SqlSession sqlSession;
   private final Class<T> mapperInterface;
   private final Map<Method, MapperMethod> methodCache;
+  private final Map<Method, MapperMethodInvoker> invokerCache;
+
+  static {
+    Method method;
+    try {
+      method = MethodHandles.class.getMethod("privateLookupIn", Class.class, Lookup.class);
+    } catch (NoSuchMethodException e) {
+      method = null;
+    }
+    privateLookupInMethod = method;
+  }
 
   public MapperProxy(SqlSession sqlSession, Class<T> mapperInterface, Map<Method, MapperMethod> methodCache) {
+    this(sqlSession, mapperInterface, methodCache, new ConcurrentHashMap<>());
+  }
+
+  MapperProxy(SqlSession sqlSession, Class<T> mapperInterface, Map<Method, MapperMethod> methodCache,
+      Map<Method, MapperMethodInvoker> invokerCache) {
     this.sqlSession = sqlSession;
     this.mapperInterface = mapperInterface;
     this.methodCache = methodCache;
+    this.invokerCache = invokerCache;
   }
 
   @Override
@@ -49,42 +73,93 @@ public class MapperProxy<T> implements InvocationHandler, Serializable {
     	// 主要处理 toString , equals, hashcode 等方法
       if (Object.class.equals(method.getDeclaringClass())) {
         return method.invoke(this, args);
-      } else if (isDefaultMethod(method)) {
-        return invokeDefaultMethod(proxy, method, args);
       }
+      // 这里优化了，去缓存中找已经解析好的 invoker
+      return cachedInvoker(method).invoke(proxy, args, sqlSession);
     } catch (Throwable t) {
       throw ExceptionUtil.unwrapThrowable(t);
     }
-    // 这里优化了，去缓存中找MapperMethod
-    final MapperMethod mapperMethod = cachedMapperMethod(method);
-    return mapperMethod.execute(sqlSession, args);
   }
 
-  private MapperMethod cachedMapperMethod(Method method) {
-    return methodCache.computeIfAbsent(method, k -> new MapperMethod(mapperInterface, method, sqlSession.getConfiguration()));
+  private MapperMethodInvoker cachedInvoker(Method method) {
+    // a plain get does not lock the bin of an entry that is already there
+    MapperMethodInvoker invoker = invokerCache.get(method);
+    if (invoker == null) {
+      invoker = invokerCache.computeIfAbsent(method,
+          k -> newInvoker(mapperInterface, method, methodCache, sqlSession.getConfiguration()));
+    }
+    return invoker;
   }
 
-  private Object invokeDefaultMethod(Object proxy, Method method, Object[] args)
-      throws Throwable {
+  /**
+   * Resolves how calls of a method of the mapper interface are dispatched. Default methods are bound to their
+   * implementation in the interface, any other method to its {@link MapperMethod}.
+   */
+  static <T> MapperMethodInvoker newInvoker(Class<T> mapperInterface, Method method,
+      Map<Method, MapperMethod> methodCache, Configuration configuration) {
+    if (method.isDefault()) {
+      try {
+        return new DefaultMethodInvoker(getMethodHandle(method));
+      } catch (ReflectiveOperationException e) {
+        throw new BindingException("Could not bind the default method " + method + ".  Cause: " + e, e);
+      }
+    }
+    MapperMethod mapperMethod = methodCache.get(method);
+    if (mapperMethod == null) {
+      mapperMethod = methodCache.computeIfAbsent(method, k -> new MapperMethod(mapperInterface, method, configuration));
+    }
+    return new PlainMethodInvoker(mapperMethod);
+  }
+
+  private static MethodHandle getMethodHandle(Method method) throws ReflectiveOperationException {
+    final Class<?> declaringClass = method.getDeclaringClass();
+    if (privateLookupInMethod != null) {
+      // Java 9 and later
+      return ((Lookup) privateLookupInMethod.invoke(null, declaringClass, MethodHandles.lookup()))
+          .unreflectSpecial(method, declaringClass);
+    }
     final Constructor<MethodHandles.Lookup> constructor = MethodHandles.Lookup.class
         .getDeclaredConstructor(Class.class, int.class);
     if (!constructor.isAccessible()) {
       constructor.setAccessible(true);
     }
-    final Class<?> declaringClass = method.getDeclaringClass();
-    return constructor
-        .newInstance(declaringClass,
-            MethodHandles.Lookup.PRIVATE | MethodHandles.Lookup.PROTECTED
-                | MethodHandles.Lookup.PACKAGE | MethodHandles.Lookup.PUBLIC)
-        .unreflectSpecial(method, declaringClass).bindTo(proxy).invokeWithArguments(args);
+    return constructor.newInstance(declaringClass, ALLOWED_MODES).unreflectSpecial(method, declaringClass);
   }
 
   /**
-   * Backport of java.lang.reflect.Method#isDefault()
+   * Dispatches the calls of one method of a mapper interface.
    */
-  private boolean isDefaultMethod(Method method) {
-    return (method.getModifiers()
-        & (Modifier.ABSTRACT | Modifier.PUBLIC | Modifier.STATIC)) == Modifier.PUBLIC
-        && method.getDeclaringClass().isInterface();
+  interface MapperMethodInvoker {
+    Object invoke(Object proxy, Object[] args, SqlSession sqlSession) throws Throwable;
+  }
+
+  private static class PlainMethodInvoker implements MapperMethodInvoker {
+    private final MapperMethod mapperMethod;
+
+    PlainMethodInvoker(MapperMethod mapperMethod) {
+      this.mapperMethod = mapperMethod;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Object[] args, SqlSession sqlSession) {
+      return mapperMethod.execute(sqlSession, args);
+    }
+  }
+
+  private static class DefaultMethodInvoker implements MapperMethodInvoker {
+    private final MethodHandle methodHandle;
+
+    DefaultMethodInvoker(MethodHandle methodHandle) {
+      // (Object proxy, Object[] args)Object, so that a call neither binds the proxy nor boxes the arguments again
+      MethodHandle fixedArity = methodHandle.asFixedArity();
+      this.methodHandle = fixedArity.asType(fixedArity.type().generic())
+          .asSpreader(Object[].class, fixedArity.type().parameterCount() - 1);
+    }
+
+    @Override
+    @UsesJava8 // invokeExact is signature polymorphic, the Java 8 signature check cannot resolve it
+    public Object invoke(Object proxy, Object[] args, SqlSession sqlSession) throws Throwable {
+      return (Object) methodHandle.invokeExact(proxy, args);
+    }
   }
 }
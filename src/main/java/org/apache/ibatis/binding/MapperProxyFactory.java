@@ -1,5 +1,5 @@
 /**
- *    Copyright 2009-2018 the original author or authors.
+ *    Copyright 2009-2019 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -16,10 +16,13 @@
 package org.apache.ibatis.binding;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Proxy;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.apache.ibatis.binding.MapperProxy.MapperMethodInvoker;
+import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.SqlSession;
 
 /**
@@ -29,6 +32,7 @@ public class MapperProxyFactory<T> {
 
   private final Class<T> mapperInterface;
   private final Map<Method, MapperMethod> methodCache = new ConcurrentHashMap<>();
+  private final Map<Method, MapperMethodInvoker> invokerCache = new ConcurrentHashMap<>();
 
   public MapperProxyFactory(Class<T> mapperInterface) {
     this.mapperInterface = mapperInterface;
@@ -42,13 +46,34 @@ public class MapperProxyFactory<T> {
     return methodCache;
   }
 
+  /**
+   * Resolves the dispatch of every method of the mapper interface, so that the first call does not have to. Abstract
+   * methods get their {@link MapperMethod}, default methods their method handle. Methods that cannot be bound are
+   * left to fail on their first call.
+   *
+   * @since 3.5.1
+   */
+  public void cacheMapperMethods(Configuration configuration) {
+    for (Method method : mapperInterface.getMethods()) {
+      if (Modifier.isStatic(method.getModifiers())) {
+        continue;
+      }
+      try {
+        invokerCache.computeIfAbsent(method,
+            k -> MapperProxy.newInvoker(mapperInterface, method, methodCache, configuration));
+      } catch (BindingException e) {
+        // reported when the method is called
+      }
+    }
+  }
+
   @SuppressWarnings("unchecked")
   protected T newInstance(MapperProxy<T> mapperProxy) {
     return (T) Proxy.newProxyInstance(mapperInterface.getClassLoader(), new Class[] { mapperInterface }, mapperProxy);
   }
 
   public T newInstance(SqlSession sqlSession) {
-    final MapperProxy<T> mapperProxy = new MapperProxy<>(sqlSession, mapperInterface, methodCache);
+    final MapperProxy<T> mapperProxy = new MapperProxy<>(sqlSession, mapperInterface, methodCache, invokerCache);
     return newInstance(mapperProxy);
   }
 
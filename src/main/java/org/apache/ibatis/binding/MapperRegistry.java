@@ -79,6 +79,19 @@ public class MapperRegistry {
     }
   }
 
+  /**
+   * Creates the mapper methods of a known mapper up front.
+   *
+   * @since 3.5.1
+   */
+  public void cacheMapperMethods(Class<?> type) {
+    final MapperProxyFactory<?> mapperProxyFactory = knownMappers.get(type);
+    if (mapperProxyFactory == null) {
+      throw new BindingException("Type " + type + " is not known to the MapperRegistry.");
+    }
+    mapperProxyFactory.cacheMapperMethods(config);
+  }
+
   /**
    * @since 3.2.2
    */
@@ -0,0 +1,153 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.builder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.ResultMapping;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.reflection.Reflector;
+import org.apache.ibatis.scripting.defaults.RawSqlSource;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.TypeHandlerRegistry;
+
+/**
+ * Builds up front, in parallel, what a configuration otherwise builds on first use: the mapper methods, the
+ * reflectors of the parameter and result types, the type handler lookups of their properties and the property paths
+ * of the parameter and result mappings.
+ * <p>
+ * Anything that fails here is left to fail again, and be reported, on first use.
+ *
+ * @since 3.5.1
+ */
+public class ConfigurationWarmer {
+
+  private static final Log log = LogFactory.getLog(ConfigurationWarmer.class);
+
+  private final Configuration configuration;
+  private final TypeHandlerRegistry typeHandlerRegistry;
+
+  public ConfigurationWarmer(Configuration configuration) {
+    this.configuration = configuration;
+    this.typeHandlerRegistry = configuration.getTypeHandlerRegistry();
+  }
+
+  public void warmUp() {
+    List<Runnable> tasks = new ArrayList<>();
+    for (Class<?> mapperType : configuration.getMapperRegistry().getMappers()) {
+      tasks.add(() -> configuration.getMapperRegistry().cacheMapperMethods(mapperType));
+    }
+    Set<Class<?>> types = new LinkedHashSet<>();
+    // the maps also hold ambiguity markers for short names, so the values are checked
+    Set<Object> statements = new LinkedHashSet<>(configuration.getMappedStatements());
+    for (Object statement : statements) {
+      if (statement instanceof MappedStatement) {
+        MappedStatement mappedStatement = (MappedStatement) statement;
+        types.add(mappedStatement.getParameterMap().getType());
+        tasks.add(() -> warmUpParameterMappings(mappedStatement));
+      }
+    }
+    Set<Object> resultMaps = new LinkedHashSet<>(configuration.getResultMaps());
+    for (Object resultMap : resultMaps) {
+      if (resultMap instanceof ResultMap) {
+        types.add(((ResultMap) resultMap).getType());
+        for (ResultMapping resultMapping : ((ResultMap) resultMap).getResultMappings()) {
+          types.add(resultMapping.getJavaType());
+        }
+        tasks.add(() -> warmUpResultMappings((ResultMap) resultMap));
+      }
+    }
+    for (Class<?> type : types) {
+      tasks.add(() -> warmUpType(type));
+    }
+    run(tasks);
+  }
+
+  private void run(List<Runnable> tasks) {
+    // the workers resolve classes the same way the thread that builds the factory does
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), forkJoinPool -> {
+      ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+      thread.setContextClassLoader(classLoader);
+      return thread;
+    }, null, false);
+    try {
+      List<ForkJoinTask<?>> submitted = new ArrayList<>(tasks.size());
+      for (Runnable task : tasks) {
+        submitted.add(pool.submit(() -> {
+          try {
+            task.run();
+          } catch (RuntimeException e) {
+            if (log.isDebugEnabled()) {
+              log.debug("Warm up step skipped, it is done on first use instead. Cause: " + e);
+            }
+          }
+        }));
+      }
+      for (ForkJoinTask<?> task : submitted) {
+        task.join();
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private void warmUpParameterMappings(MappedStatement mappedStatement) {
+    warmUpParameterMappings(mappedStatement.getParameterMap().getParameterMappings());
+    SqlSource sqlSource = mappedStatement.getSqlSource();
+    if (sqlSource instanceof RawSqlSource || sqlSource instanceof StaticSqlSource) {
+      // static SQL shares its parameter mappings between executions
+      warmUpParameterMappings(sqlSource.getBoundSql(null).getParameterMappings());
+    }
+  }
+
+  private void warmUpParameterMappings(List<ParameterMapping> parameterMappings) {
+    for (ParameterMapping parameterMapping : parameterMappings) {
+      parameterMapping.getPropertyPath();
+    }
+  }
+
+  private void warmUpResultMappings(ResultMap resultMap) {
+    for (ResultMapping resultMapping : resultMap.getResultMappings()) {
+      resultMapping.getPropertyPath();
+    }
+  }
+
+  private void warmUpType(Class<?> type) {
+    if (type == null || type.isPrimitive() || type.isArray() || typeHandlerRegistry.hasTypeHandler(type)
+        || Map.class.isAssignableFrom(type) || Collection.class.isAssignableFrom(type)) {
+      return;
+    }
+    Reflector reflector = configuration.getReflectorFactory().findForClass(type);
+    for (String property : reflector.getSetablePropertyNames()) {
+      typeHandlerRegistry.hasTypeHandler(reflector.getSetterType(property));
+    }
+  }
+
+}
@@ -18,6 +18,8 @@ package org.apache.ibatis.builder.xml;
 import java.io.InputStream;
 import java.io.Reader;
 import java.util.Properties;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import javax.sql.DataSource;
 
 import org.apache.ibatis.builder.BaseBuilder;
@@ -40,6 +42,8 @@ import org.apache.ibatis.reflection.factory.ObjectFactory;
 import org.apache.ibatis.reflection.wrapper.ObjectWrapperFactory;
 import org.apache.ibatis.session.AutoMappingBehavior;
 import org.apache.ibatis.session.AutoMappingUnknownColumnBehavior;
+import org.apache.ibatis.session.BatchGrouping;
+import org.apache.ibatis.session.BatchResultRetention;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.LocalCacheScope;
@@ -323,6 +327,14 @@ public class XMLConfigBuilder extends BaseBuilder {
 		configuration.setUseColumnLabel(booleanValueOf(props.getProperty("useColumnLabel"), true));
 		configuration.setUseGeneratedKeys(booleanValueOf(props.getProperty("useGeneratedKeys"), false));
 		configuration.setDefaultExecutorType(ExecutorType.valueOf(props.getProperty("defaultExecutorType", "SIMPLE")));
+		configuration.setBatchGrouping(BatchGrouping.valueOf(props.getProperty("batchGrouping", "CONSECUTIVE")));
+		configuration.setBatchFlushStatementRows(integerValueOf(props.getProperty("batchFlushStatementRows"), null));
+		configuration.setBatchFlushPendingRows(integerValueOf(props.getProperty("batchFlushPendingRows"), null));
+		configuration.setBatchFlushPendingBytes(longValueOf(props.getProperty("batchFlushPendingBytes"), null));
+		configuration.setBatchResultRetention(
+				BatchResultRetention.valueOf(props.getProperty("batchResultRetention", "FULL")));
+		configuration.setBatchMultiRowInsertSize(integerValueOf(props.getProperty("batchMultiRowInsertSize"), null));
+		configuration.setBatchPipelineDepth(integerValueOf(props.getProperty("batchPipelineDepth"), null));
 		configuration.setDefaultStatementTimeout(integerValueOf(props.getProperty("defaultStatementTimeout"), null));
 		configuration.setDefaultFetchSize(integerValueOf(props.getProperty("defaultFetchSize"), null));
 		configuration.setMapUnderscoreToCamelCase(booleanValueOf(props.getProperty("mapUnderscoreToCamelCase"), false));
@@ -340,6 +352,22 @@ public class XMLConfigBuilder extends BaseBuilder {
 				.setReturnInstanceForEmptyRow(booleanValueOf(props.getProperty("returnInstanceForEmptyRow"), false));
 		configuration.setLogPrefix(props.getProperty("logPrefix"));
 		configuration.setConfigurationFactory(resolveClass(props.getProperty("configurationFactory")));
+		configuration.setAsyncExecutor(asyncExecutorValueOf(props.getProperty("asyncExecutor")));
+		configuration.setParallelNestedQueryEnabled(booleanValueOf(props.getProperty("parallelNestedQueryEnabled"), false));
+		configuration.setParallelNestedQueryLimit(integerValueOf(props.getProperty("parallelNestedQueryLimit"), null));
+		configuration.setWarmUpEnabled(booleanValueOf(props.getProperty("warmUpEnabled"), false));
+	}
+
+	private Executor asyncExecutorValueOf(String value) {
+		if (!"VIRTUAL_THREAD".equals(value)) {
+			return (Executor) createInstance(value);
+		}
+		try {
+			// available since Java 21
+			return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException e) {
+			throw new BuilderException("Virtual threads are not supported by this JVM. Cause: " + e, e);
+		}
 	}
 
 	private void environmentsElement(XNode context) throws Exception {
@@ -471,12 +471,13 @@ public class XMLMapperBuilder extends BaseBuilder {
 		String foreignColumn = context.getStringAttribute("foreignColumn");
 		boolean lazy = "lazy".equals(
 				context.getStringAttribute("fetchType", configuration.isLazyLoadingEnabled() ? "lazy" : "eager"));
+		int batchSize = context.getIntAttribute("batchSize", 0);
 		Class<?> javaTypeClass = resolveClass(javaType);
 		Class<? extends TypeHandler<?>> typeHandlerClass = resolveClass(typeHandler);
 		JdbcType jdbcTypeEnum = resolveJdbcType(jdbcType);
 		return builderAssistant.buildResultMapping(resultType, property, column, javaTypeClass, jdbcTypeEnum,
 				nestedSelect, nestedResultMap, notNullColumn, columnPrefix, typeHandlerClass, flags, resultSet,
-				foreignColumn, lazy);
+				foreignColumn, lazy, batchSize);
 	}
 
 	private String processNestedResultMappings(XNode context, List<ResultMapping> resultMappings,
@@ -0,0 +1,280 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cursor.defaults;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.reflection.ExceptionUtil;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+
+/**
+ * Publishes the rows of a {@link Cursor} to a {@code java.util.concurrent.Flow.Subscriber}.
+ * <p>
+ * Each subscription opens its own session and cursor on the first request and emits rows on the given executor, only
+ * as many as the subscriber has requested. The fetch size of the underlying result set follows the outstanding demand.
+ * The session is closed when the cursor is consumed, when an error occurs or when the subscription is cancelled.
+ * <p>
+ * The Flow API is bound reflectively, so this class can be loaded on runtimes that do not provide it.
+ *
+ * @since 3.5.1
+ */
+public class CursorPublisher<T> implements InvocationHandler {
+
+  private static final String PUBLISHER_TYPE = "java.util.concurrent.Flow$Publisher";
+
+  private final SqlSessionFactory sqlSessionFactory;
+  private final Function<SqlSession, Cursor<T>> query;
+  private final Executor executor;
+
+  private CursorPublisher(SqlSessionFactory sqlSessionFactory, Function<SqlSession, Cursor<T>> query, Executor executor) {
+    this.sqlSessionFactory = sqlSessionFactory;
+    this.query = query;
+    this.executor = executor;
+  }
+
+  /**
+   * Returns whether the type is {@code java.util.concurrent.Flow.Publisher}.
+   */
+  public static boolean isPublisherType(Class<?> type) {
+    return PUBLISHER_TYPE.equals(type.getName());
+  }
+
+  /**
+   * Creates a {@code java.util.concurrent.Flow.Publisher} that runs the query for every subscriber.
+   *
+   * @param sqlSessionFactory the factory of the sessions the query runs in
+   * @param query opens the cursor in the given session
+   * @param executor the executor that fetches and emits rows
+   * @return a proxy implementing {@code java.util.concurrent.Flow.Publisher}
+   */
+  public static <T> Object newPublisher(SqlSessionFactory sqlSessionFactory, Function<SqlSession, Cursor<T>> query,
+      Executor executor) {
+    return Proxy.newProxyInstance(CursorPublisher.class.getClassLoader(), new Class[] { FlowApi.PUBLISHER },
+        new CursorPublisher<>(sqlSessionFactory, query, executor));
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) {
+    switch (method.getName()) {
+      case "subscribe":
+        if (args[0] == null) {
+          throw new NullPointerException("subscriber");
+        }
+        CursorSubscription subscription = new CursorSubscription(args[0]);
+        subscription.signal(FlowApi.ON_SUBSCRIBE, Proxy.newProxyInstance(CursorPublisher.class.getClassLoader(),
+            new Class[] { FlowApi.SUBSCRIPTION }, subscription));
+        return null;
+      case "equals":
+        return proxy == args[0];
+      case "hashCode":
+        return System.identityHashCode(proxy);
+      case "toString":
+        return "CursorPublisher@" + Integer.toHexString(System.identityHashCode(proxy));
+      default:
+        throw new UnsupportedOperationException(method.toString());
+    }
+  }
+
+  private class CursorSubscription implements InvocationHandler, Runnable {
+
+    private final Object subscriber;
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    private volatile boolean cancelled;
+    private volatile IllegalArgumentException invalidRequest;
+
+    // only accessed by the drain loop
+    private boolean done;
+    private SqlSession sqlSession;
+    private Iterator<T> iterator;
+    private DefaultCursor<T> defaultCursor;
+    private int fetchSize;
+
+    CursorSubscription(Object subscriber) {
+      this.subscriber = subscriber;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+      switch (method.getName()) {
+        case "request":
+          request((Long) args[0]);
+          return null;
+        case "cancel":
+          cancelled = true;
+          schedule();
+          return null;
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        case "toString":
+          return "CursorSubscription@" + Integer.toHexString(System.identityHashCode(proxy));
+        default:
+          throw new UnsupportedOperationException(method.toString());
+      }
+    }
+
+    private void request(long n) {
+      if (n <= 0) {
+        invalidRequest = new IllegalArgumentException("Subscribers must request a positive number of rows, but requested " + n);
+      } else {
+        requested.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+      }
+      schedule();
+    }
+
+    private void schedule() {
+      if (wip.getAndIncrement() == 0) {
+        executor.execute(this);
+      }
+    }
+
+    @Override
+    public void run() {
+      int missed = 1;
+      do {
+        if (!done) {
+          drain();
+        }
+        missed = wip.addAndGet(-missed);
+      } while (missed != 0);
+    }
+
+    private void drain() {
+      if (cancelled) {
+        close();
+        return;
+      }
+      if (invalidRequest != null) {
+        close();
+        signal(FlowApi.ON_ERROR, invalidRequest);
+        return;
+      }
+      long demand = requested.get();
+      if (demand == 0) {
+        return;
+      }
+      long emitted = 0;
+      try {
+        if (iterator == null) {
+          open();
+        }
+        adjustFetchSize(demand);
+        while (emitted != demand) {
+          if (cancelled) {
+            close();
+            return;
+          }
+          if (!iterator.hasNext()) {
+            close();
+            signal(FlowApi.ON_COMPLETE);
+            return;
+          }
+          emitted++;
+          signal(FlowApi.ON_NEXT, iterator.next());
+        }
+      } catch (RuntimeException e) {
+        close();
+        if (!cancelled) {
+          signal(FlowApi.ON_ERROR, e);
+        }
+        return;
+      }
+      if (demand != Long.MAX_VALUE) {
+        requested.addAndGet(-emitted);
+      }
+    }
+
+    private void open() {
+      sqlSession = sqlSessionFactory.openSession();
+      Cursor<T> cursor = query.apply(sqlSession);
+      if (cursor instanceof DefaultCursor) {
+        defaultCursor = (DefaultCursor<T>) cursor;
+      }
+      iterator = cursor.iterator();
+    }
+
+    private void adjustFetchSize(long demand) {
+      // unbounded demand keeps the fetch size configured on the statement
+      if (defaultCursor != null && demand != Long.MAX_VALUE && demand != fetchSize) {
+        fetchSize = (int) Math.min(demand, Integer.MAX_VALUE);
+        defaultCursor.setFetchSize(fetchSize);
+      }
+    }
+
+    private void close() {
+      done = true;
+      if (sqlSession != null) {
+        // closing the session closes the cursor as well
+        sqlSession.close();
+        sqlSession = null;
+      }
+    }
+
+    private void signal(Method method, Object... args) {
+      try {
+        method.invoke(subscriber, args);
+      } catch (IllegalAccessException e) {
+        throw new PersistenceException("Could not signal subscriber " + subscriber, e);
+      } catch (InvocationTargetException e) {
+        Throwable cause = ExceptionUtil.unwrapThrowable(e);
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        }
+        throw new PersistenceException("Subscriber " + subscriber + " failed.", cause);
+      }
+    }
+  }
+
+  private static final class FlowApi {
+
+    static final Class<?> PUBLISHER;
+    static final Class<?> SUBSCRIPTION;
+    static final Method ON_SUBSCRIBE;
+    static final Method ON_NEXT;
+    static final Method ON_ERROR;
+    static final Method ON_COMPLETE;
+
+    static {
+      try {
+        PUBLISHER = Class.forName(PUBLISHER_TYPE);
+        SUBSCRIPTION = Class.forName("java.util.concurrent.Flow$Subscription");
+        Class<?> subscriber = Class.forName("java.util.concurrent.Flow$Subscriber");
+        ON_SUBSCRIBE = subscriber.getMethod("onSubscribe", SUBSCRIPTION);
+        ON_NEXT = subscriber.getMethod("onNext", Object.class);
+        ON_ERROR = subscriber.getMethod("onError", Throwable.class);
+        ON_COMPLETE = subscriber.getMethod("onComplete");
+      } catch (ReflectiveOperationException e) {
+        throw new ExceptionInInitializerError(e);
+      }
+    }
+
+    private FlowApi() {
+    }
+  }
+}
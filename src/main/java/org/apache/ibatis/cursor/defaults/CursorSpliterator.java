@@ -0,0 +1,89 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cursor.defaults;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.exceptions.ExceptionFactory;
+
+/**
+ * Traverses the rows of a {@link Cursor}, fetching each row only when the stream asks for it.
+ * <p>
+ * The stream is built on a cursor that is already open: the statement has been executed and its result set is open
+ * before the stream is returned. The cursor is closed when the stream is closed, which closes its result set and
+ * statement. A cursor that has been fully consumed closes itself, so streams that run to the end release their
+ * resources as well, but a stream that is neither consumed nor closed keeps the statement open.
+ *
+ * @since 3.5.1
+ */
+public class CursorSpliterator<T> implements Spliterator<T> {
+
+  private final Cursor<T> cursor;
+  private Iterator<T> iterator;
+
+  public CursorSpliterator(Cursor<T> cursor) {
+    this.cursor = cursor;
+  }
+
+  /**
+   * Creates a sequential stream of the rows of a cursor, which closes the cursor when it is closed.
+   */
+  public static <T> Stream<T> newStream(Cursor<T> cursor) {
+    return StreamSupport.stream(new CursorSpliterator<>(cursor), false).onClose(() -> {
+      try {
+        cursor.close();
+      } catch (IOException e) {
+        throw ExceptionFactory.wrapException("Error closing cursor.  Cause: " + e, e);
+      }
+    });
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super T> action) {
+    if (iterator == null) {
+      // the statement already ran and its result set is open, only the iterator is taken on the first row
+      iterator = cursor.iterator();
+    }
+    if (!iterator.hasNext()) {
+      return false;
+    }
+    action.accept(iterator.next());
+    return true;
+  }
+
+  @Override
+  public Spliterator<T> trySplit() {
+    // the rows of a result set can only be read in order
+    return null;
+  }
+
+  @Override
+  public long estimateSize() {
+    return Long.MAX_VALUE;
+  }
+
+  @Override
+  public int characteristics() {
+    return ORDERED | NONNULL;
+  }
+
+}
@@ -121,6 +121,20 @@ public class DefaultCursor<T> implements Cursor<T> {
     }
   }
 
+  /**
+   * Gives the driver a hint on the number of rows to fetch in the next round trip.
+   */
+  void setFetchSize(int fetchSize) {
+    ResultSet rs = rsw.getResultSet();
+    try {
+      if (rs != null && !rs.isClosed()) {
+        rs.setFetchSize(fetchSize);
+      }
+    } catch (SQLException e) {
+      // ignore, the fetch size is only a hint
+    }
+  }
+
   protected T fetchNextUsingRowBound() {
     T result = fetchNextObjectFromDatabase();
     while (result != null && indexWithRowBound < rowBounds.getOffset()) {
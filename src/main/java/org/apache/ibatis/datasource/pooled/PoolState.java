@@ -17,6 +17,7 @@ package org.apache.ibatis.datasource.pooled;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @author Clinton Begin
@@ -35,6 +36,9 @@ public class PoolState {
   protected long accumulatedWaitTime = 0;
   protected long hadToWaitCount = 0;
   protected long badConnectionCount = 0;
+  protected final AtomicLong statementCacheHitCount = new AtomicLong();
+  protected final AtomicLong statementCacheMissCount = new AtomicLong();
+  protected final AtomicLong statementCacheEvictionCount = new AtomicLong();
 
   public PoolState(PooledDataSource dataSource) {
     this.dataSource = dataSource;
@@ -82,6 +86,27 @@ public class PoolState {
     return activeConnections.size();
   }
 
+  /**
+   * @since 3.5.1
+   */
+  public long getStatementCacheHitCount() {
+    return statementCacheHitCount.get();
+  }
+
+  /**
+   * @since 3.5.1
+   */
+  public long getStatementCacheMissCount() {
+    return statementCacheMissCount.get();
+  }
+
+  /**
+   * @since 3.5.1
+   */
+  public long getStatementCacheEvictionCount() {
+    return statementCacheEvictionCount.get();
+  }
+
   @Override
   public synchronized String toString() {
     StringBuilder builder = new StringBuilder();
@@ -97,6 +122,7 @@ public class PoolState {
     builder.append("\n poolPingEnabled                ").append(dataSource.poolPingEnabled);
     builder.append("\n poolPingQuery                  ").append(dataSource.poolPingQuery);
     builder.append("\n poolPingConnectionsNotUsedFor  ").append(dataSource.poolPingConnectionsNotUsedFor);
+    builder.append("\n poolStatementCacheSize         ").append(dataSource.poolStatementCacheSize);
     builder.append("\n ---STATUS-----------------------------------------------------");
     builder.append("\n activeConnections              ").append(getActiveConnectionCount());
     builder.append("\n idleConnections                ").append(getIdleConnectionCount());
@@ -108,6 +134,9 @@ public class PoolState {
     builder.append("\n hadToWait                      ").append(getHadToWaitCount());
     builder.append("\n averageWaitTime                ").append(getAverageWaitTime());
     builder.append("\n badConnectionCount             ").append(getBadConnectionCount());
+    builder.append("\n statementCacheHits             ").append(getStatementCacheHitCount());
+    builder.append("\n statementCacheMisses           ").append(getStatementCacheMissCount());
+    builder.append("\n statementCacheEvictions        ").append(getStatementCacheEvictionCount());
     builder.append("\n===============================================================");
     return builder.toString();
   }
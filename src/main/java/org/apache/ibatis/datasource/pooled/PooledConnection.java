@@ -19,6 +19,7 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 
 import org.apache.ibatis.reflection.ExceptionUtil;
@@ -29,12 +30,14 @@ import org.apache.ibatis.reflection.ExceptionUtil;
 class PooledConnection implements InvocationHandler {
 
   private static final String CLOSE = "close";
+  private static final String PREPARE_STATEMENT = "prepareStatement";
   private static final Class<?>[] IFACES = new Class<?>[] { Connection.class };
 
   private final int hashCode;
   private final PooledDataSource dataSource;
   private final Connection realConnection;
   private final Connection proxyConnection;
+  private final PooledStatementCache statementCache;
   private long checkoutTimestamp;
   private long createdTimestamp;
   private long lastUsedTimestamp;
@@ -48,6 +51,18 @@ class PooledConnection implements InvocationHandler {
    * @param dataSource - the dataSource that the connection is from
    */
   public PooledConnection(Connection connection, PooledDataSource dataSource) {
+    this(connection, dataSource, dataSource.newStatementCache());
+  }
+
+  /**
+   * Constructor for SimplePooledConnection that takes over the idle statements of the connection.
+   *
+   * @param connection - the connection that is to be presented as a pooled connection
+   * @param dataSource - the dataSource that the connection is from
+   * @param statementCache - the idle statements of the connection, or null when statements are not cached
+   */
+  PooledConnection(Connection connection, PooledDataSource dataSource, PooledStatementCache statementCache) {
+    this.statementCache = statementCache;
     this.hashCode = connection.hashCode();
     this.realConnection = connection;
     this.dataSource = dataSource;
@@ -91,6 +106,24 @@ class PooledConnection implements InvocationHandler {
     return proxyConnection;
   }
 
+  /**
+   * Getter for the idle statements of the connection.
+   *
+   * @return The statement cache, or null when statements are not cached
+   */
+  PooledStatementCache getStatementCache() {
+    return statementCache;
+  }
+
+  /**
+   * Closes the idle statements of the physical connection, before the physical connection is closed.
+   */
+  void closeStatements() {
+    if (statementCache != null) {
+      statementCache.clear();
+    }
+  }
+
   /**
    * Gets the hashcode of the real connection (or 0 if it is null).
    *
@@ -242,6 +275,9 @@ class PooledConnection implements InvocationHandler {
         // throw an SQLException instead of a Runtime
         checkConnection();
       }
+      if (statementCache != null && PREPARE_STATEMENT.equals(methodName)) {
+        return prepareStatement(method, args);
+      }
       return method.invoke(realConnection, args);
     } catch (Throwable t) {
       throw ExceptionUtil.unwrapThrowable(t);
@@ -249,6 +285,27 @@ class PooledConnection implements InvocationHandler {
 
   }
 
+  private PreparedStatement prepareStatement(Method method, Object[] args) throws Throwable {
+    PooledStatementCache.Key key = new PooledStatementCache.Key(args);
+    PreparedStatement statement = statementCache.take(key);
+    if (statement == null) {
+      statement = (PreparedStatement) method.invoke(realConnection, args);
+    }
+    return new PooledStatement(this, key, statement).getProxyStatement();
+  }
+
+  /**
+   * Returns a statement that is no longer used to the statement cache, or closes it when this connection is no longer
+   * valid.
+   */
+  void returnStatement(PooledStatementCache.Key key, PreparedStatement statement) throws SQLException {
+    if (valid) {
+      statementCache.put(key, statement);
+    } else {
+      statement.close();
+    }
+  }
+
   private void checkConnection() throws SQLException {
     if (!valid) {
       throw new SQLException("Error accessing PooledConnection. Connection is invalid.");
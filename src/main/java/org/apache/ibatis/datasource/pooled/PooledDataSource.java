@@ -53,6 +53,7 @@ public class PooledDataSource implements DataSource {
   protected String poolPingQuery = "NO PING QUERY SET";
   protected boolean poolPingEnabled;
   protected int poolPingConnectionsNotUsedFor;
+  protected int poolStatementCacheSize;
 
   private int expectedConnectionTypeCode;
 
@@ -235,6 +236,19 @@ public class PooledDataSource implements DataSource {
     forceCloseAll();
   }
 
+  /**
+   * The number of idle prepared statements kept per connection, so that statements survive across the sessions
+   * borrowing the same connection. The least recently used statement is closed when the cache is full.
+   * Statements are not cached when zero (Default).
+   *
+   * @param poolStatementCacheSize the number of statements
+   * @since 3.5.1
+   */
+  public void setPoolStatementCacheSize(int poolStatementCacheSize) {
+    this.poolStatementCacheSize = poolStatementCacheSize;
+    forceCloseAll();
+  }
+
   public String getDriver() {
     return dataSource.getDriver();
   }
@@ -295,6 +309,13 @@ public class PooledDataSource implements DataSource {
     return poolPingConnectionsNotUsedFor;
   }
 
+  /**
+   * @since 3.5.1
+   */
+  public int getPoolStatementCacheSize() {
+    return poolStatementCacheSize;
+  }
+
   /**
    * Closes all active and idle connections in the pool.
    */
@@ -305,6 +326,7 @@ public class PooledDataSource implements DataSource {
         try {
           PooledConnection conn = state.activeConnections.remove(i - 1);
           conn.invalidate();
+          conn.closeStatements();
 
           Connection realConn = conn.getRealConnection();
           if (!realConn.getAutoCommit()) {
@@ -319,6 +341,7 @@ public class PooledDataSource implements DataSource {
         try {
           PooledConnection conn = state.idleConnections.remove(i - 1);
           conn.invalidate();
+          conn.closeStatements();
 
           Connection realConn = conn.getRealConnection();
           if (!realConn.getAutoCommit()) {
@@ -339,6 +362,10 @@ public class PooledDataSource implements DataSource {
     return state;
   }
 
+  PooledStatementCache newStatementCache() {
+    return poolStatementCacheSize > 0 ? new PooledStatementCache(poolStatementCacheSize, state) : null;
+  }
+
   private int assembleConnectionTypeCode(String url, String username, String password) {
     return ("" + url + username + password).hashCode();
   }
@@ -353,7 +380,7 @@ public class PooledDataSource implements DataSource {
           if (!conn.getRealConnection().getAutoCommit()) {
             conn.getRealConnection().rollback();
           }
-          PooledConnection newConn = new PooledConnection(conn.getRealConnection(), this);
+          PooledConnection newConn = new PooledConnection(conn.getRealConnection(), this, conn.getStatementCache());
           state.idleConnections.add(newConn);
           newConn.setCreatedTimestamp(conn.getCreatedTimestamp());
           newConn.setLastUsedTimestamp(conn.getLastUsedTimestamp());
@@ -367,6 +394,7 @@ public class PooledDataSource implements DataSource {
           if (!conn.getRealConnection().getAutoCommit()) {
             conn.getRealConnection().rollback();
           }
+          conn.closeStatements();
           conn.getRealConnection().close();
           if (log.isDebugEnabled()) {
             log.debug("Closed connection " + conn.getRealHashCode() + ".");
@@ -429,7 +457,8 @@ public class PooledDataSource implements DataSource {
                   log.debug("Bad connection. Could not roll back");
                 }
               }
-              conn = new PooledConnection(oldestActiveConnection.getRealConnection(), this);
+              conn = new PooledConnection(oldestActiveConnection.getRealConnection(), this,
+                  oldestActiveConnection.getStatementCache());
               conn.setCreatedTimestamp(oldestActiveConnection.getCreatedTimestamp());
               conn.setLastUsedTimestamp(oldestActiveConnection.getLastUsedTimestamp());
               oldestActiveConnection.invalidate();
@@ -535,6 +564,7 @@ public class PooledDataSource implements DataSource {
           } catch (Exception e) {
             log.warn("Execution of ping query '" + poolPingQuery + "' failed: " + e.getMessage());
             try {
+              conn.closeStatements();
               conn.getRealConnection().close();
             } catch (Exception e2) {
               //ignore
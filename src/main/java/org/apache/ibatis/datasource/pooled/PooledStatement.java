@@ -0,0 +1,159 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.pooled;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import org.apache.ibatis.reflection.ExceptionUtil;
+
+/**
+ * Prepared statement proxy that returns the statement to the statement cache of its connection when it is closed.
+ * The settings changed while the statement was in use are restored before it is cached. Statements whose settings
+ * cannot be restored are closed instead.
+ */
+class PooledStatement implements InvocationHandler {
+
+  private static final Class<?>[] IFACES = new Class<?>[] { PreparedStatement.class };
+
+  private final PooledConnection connection;
+  private final PooledStatementCache.Key key;
+  private final PreparedStatement realStatement;
+  private final PreparedStatement proxyStatement;
+  private boolean closed;
+  private boolean reusable = true;
+  private Integer queryTimeout;
+  private Integer fetchSize;
+  private Integer fetchDirection;
+  private Integer maxRows;
+  private Integer maxFieldSize;
+
+  PooledStatement(PooledConnection connection, PooledStatementCache.Key key, PreparedStatement statement) {
+    this.connection = connection;
+    this.key = key;
+    this.realStatement = statement;
+    this.proxyStatement = (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(), IFACES, this);
+  }
+
+  PreparedStatement getProxyStatement() {
+    return proxyStatement;
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    try {
+      if (Object.class.equals(method.getDeclaringClass())) {
+        return method.invoke(this, args);
+      }
+      String methodName = method.getName();
+      switch (methodName) {
+        case "close":
+          close();
+          return null;
+        case "isClosed":
+          return closed || realStatement.isClosed();
+        default:
+          break;
+      }
+      if (closed) {
+        throw new SQLException("Error accessing PooledStatement. Statement is closed.");
+      }
+      switch (methodName) {
+        case "getConnection":
+          return connection.getProxyConnection();
+        case "setQueryTimeout":
+          if (queryTimeout == null) {
+            queryTimeout = realStatement.getQueryTimeout();
+          }
+          break;
+        case "setFetchSize":
+          if (fetchSize == null) {
+            fetchSize = realStatement.getFetchSize();
+          }
+          break;
+        case "setFetchDirection":
+          if (fetchDirection == null) {
+            fetchDirection = realStatement.getFetchDirection();
+          }
+          break;
+        case "setMaxRows":
+          if (maxRows == null) {
+            maxRows = realStatement.getMaxRows();
+          }
+          break;
+        case "setMaxFieldSize":
+          if (maxFieldSize == null) {
+            maxFieldSize = realStatement.getMaxFieldSize();
+          }
+          break;
+        case "setLargeMaxRows":
+        case "setCursorName":
+        case "setEscapeProcessing":
+        case "setPoolable":
+        case "closeOnCompletion":
+          reusable = false;
+          break;
+        default:
+          break;
+      }
+      return method.invoke(realStatement, args);
+    } catch (Throwable t) {
+      throw ExceptionUtil.unwrapThrowable(t);
+    }
+  }
+
+  private void close() throws SQLException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    if (reusable && reset()) {
+      connection.returnStatement(key, realStatement);
+    } else {
+      realStatement.close();
+    }
+  }
+
+  private boolean reset() {
+    try {
+      realStatement.clearParameters();
+      realStatement.clearBatch();
+      realStatement.clearWarnings();
+      if (queryTimeout != null) {
+        realStatement.setQueryTimeout(queryTimeout);
+      }
+      if (fetchSize != null) {
+        realStatement.setFetchSize(fetchSize);
+      }
+      if (fetchDirection != null) {
+        realStatement.setFetchDirection(fetchDirection);
+      }
+      if (maxRows != null) {
+        realStatement.setMaxRows(maxRows);
+      }
+      if (maxFieldSize != null) {
+        realStatement.setMaxFieldSize(maxFieldSize);
+      }
+      return true;
+    } catch (SQLException e) {
+      return false;
+    }
+  }
+
+}
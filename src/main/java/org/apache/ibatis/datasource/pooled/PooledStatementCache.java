@@ -0,0 +1,130 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.pooled;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Idle prepared statements of a physical connection, evicting the least recently used statement when full.
+ * The cache is handed over from one {@link PooledConnection} to the next one wrapping the same physical connection.
+ */
+class PooledStatementCache {
+
+  private final int size;
+  private final PoolState state;
+  private final LinkedHashMap<Key, PreparedStatement> statements;
+
+  PooledStatementCache(int size, PoolState state) {
+    this.size = size;
+    this.state = state;
+    this.statements = new LinkedHashMap<>(16, 0.75f, true);
+  }
+
+  /**
+   * Removes an idle statement prepared with the arguments from the cache. A statement that got closed meanwhile, for
+   * example by the driver, is dropped.
+   *
+   * @return the statement or {@code null} when there is none
+   */
+  synchronized PreparedStatement take(Key key) {
+    PreparedStatement statement = statements.remove(key);
+    if (statement != null && isClosed(statement)) {
+      statement = null;
+    }
+    if (statement == null) {
+      state.statementCacheMissCount.incrementAndGet();
+    } else {
+      state.statementCacheHitCount.incrementAndGet();
+    }
+    return statement;
+  }
+
+  /**
+   * Adds an idle statement to the cache, closing the statement it replaces or the least recently used one.
+   */
+  synchronized void put(Key key, PreparedStatement statement) {
+    PreparedStatement replaced = statements.put(key, statement);
+    if (replaced != null) {
+      close(replaced);
+    } else if (statements.size() > size) {
+      Iterator<Map.Entry<Key, PreparedStatement>> eldest = statements.entrySet().iterator();
+      close(eldest.next().getValue());
+      eldest.remove();
+      state.statementCacheEvictionCount.incrementAndGet();
+    }
+  }
+
+  synchronized int getSize() {
+    return statements.size();
+  }
+
+  /**
+   * Closes all idle statements. Called when the physical connection is closed.
+   */
+  synchronized void clear() {
+    for (PreparedStatement statement : statements.values()) {
+      close(statement);
+    }
+    statements.clear();
+  }
+
+  private static boolean isClosed(PreparedStatement statement) {
+    try {
+      return statement.isClosed();
+    } catch (SQLException e) {
+      return true;
+    }
+  }
+
+  private static void close(PreparedStatement statement) {
+    try {
+      statement.close();
+    } catch (SQLException e) {
+      // ignore
+    }
+  }
+
+  /**
+   * The arguments a statement was prepared with.
+   */
+  static final class Key {
+
+    private final Object[] args;
+    private final int hashCode;
+
+    Key(Object[] args) {
+      this.args = args;
+      this.hashCode = Arrays.deepHashCode(args);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof Key && Arrays.deepEquals(args, ((Key) obj).args);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+  }
+
+}
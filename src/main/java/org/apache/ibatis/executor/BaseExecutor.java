@@ -325,7 +325,10 @@ public abstract class BaseExecutor implements Executor {
     } finally {
       localCache.removeObject(key);
     }
-    localCache.putObject(key, list);
+    // the list is empty when a result handler took the rows
+    if (resultHandler == null) {
+      localCache.putObject(key, list);
+    }
     if (ms.getStatementType() == StatementType.CALLABLE) {
       localOutputParameterCache.putObject(key, parameter);
     }
@@ -17,11 +17,19 @@ package org.apache.ibatis.executor;
 
 import java.sql.BatchUpdateException;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.executor.keygen.Jdbc3KeyGenerator;
@@ -30,6 +38,10 @@ import org.apache.ibatis.executor.keygen.NoKeyGenerator;
 import org.apache.ibatis.executor.statement.StatementHandler;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.BatchGrouping;
+import org.apache.ibatis.session.BatchResultRetention;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
@@ -42,42 +54,181 @@ public class BatchExecutor extends BaseExecutor {
 
   public static final int BATCH_UPDATE_RETURN_VALUE = Integer.MIN_VALUE + 1002;
 
-  private final List<Statement> statementList = new ArrayList<>();
-  private final List<BatchResult> batchResultList = new ArrayList<>();
+  private final List<PendingBatch> batchList = new ArrayList<>();
+  // index of the open batch in batchList per statement and sql, used unless grouping is CONSECUTIVE
+  private final Map<MappedStatement, Map<String, Integer>> openBatches = new HashMap<>();
+  private final BatchGrouping batchGrouping;
+  // results of batches executed because a flush threshold was reached, returned by the next flushStatements()
+  private final List<BatchResult> flushedResultList = new ArrayList<>();
+  private final int flushStatementRows;
+  private final int flushPendingRows;
+  private final long flushPendingBytes;
+  private final BatchResultRetention resultRetention;
+  private final int multiRowInsertSize;
+  // the batches executed on the async executor, and the batches handed over after them, oldest first
+  private final int pipelineDepth;
+  private PipelinedBatches runningBatches;
+  private final Deque<List<PendingBatch>> queuedBatches = new ArrayDeque<>();
+  private int pendingRows;
+  private long pendingBytes;
   private String currentSql;
   private MappedStatement currentStatement;
+  // index in batchList of the batch the last execution was added to
+  private int currentIndex = -1;
 
   public BatchExecutor(Configuration configuration, Transaction transaction) {
     super(configuration, transaction);
+    this.batchGrouping = configuration.getBatchGrouping();
+    this.flushStatementRows = positiveOrMax(configuration.getBatchFlushStatementRows());
+    this.flushPendingRows = positiveOrMax(configuration.getBatchFlushPendingRows());
+    Long pendingBytesThreshold = configuration.getBatchFlushPendingBytes();
+    this.flushPendingBytes = pendingBytesThreshold == null || pendingBytesThreshold <= 0 ? Long.MAX_VALUE : pendingBytesThreshold;
+    this.resultRetention = configuration.getBatchResultRetention();
+    Integer multiRowInsertSize = configuration.getBatchMultiRowInsertSize();
+    this.multiRowInsertSize = multiRowInsertSize == null ? 0 : multiRowInsertSize;
+    Integer pipelineDepth = configuration.getBatchPipelineDepth();
+    this.pipelineDepth = pipelineDepth == null ? 0 : pipelineDepth;
   }
 
   @Override
   public int doUpdate(MappedStatement ms, Object parameterObject) throws SQLException {
     final Configuration configuration = ms.getConfiguration();
+    // while batches are pipelined, executions are kept as values and bound once nothing uses the connection
+    boolean capture = pipelineDepth > 0 && BatchRow.canCapture(ms);
+    if (pipelineDepth > 0 && !capture) {
+      awaitPipeline(false);
+    }
     final StatementHandler handler = configuration.newStatementHandler(this, ms, parameterObject, RowBounds.DEFAULT, null, null);
     final BoundSql boundSql = handler.getBoundSql();
     final String sql = boundSql.getSql();
-    final Statement stmt;
-    if (sql.equals(currentSql) && ms.equals(currentStatement)) {
-      int last = statementList.size() - 1;
-      stmt = statementList.get(last);
-      applyTransactionTimeout(stmt);
-      handler.parameterize(stmt);//fix Issues 322
-      BatchResult batchResult = batchResultList.get(last);
-      batchResult.addParameterObject(parameterObject);
+    if (capture && !BatchRow.canCapture(boundSql)) {
+      capture = false;
+      awaitPipeline(false);
+    }
+    final PendingBatch batch;
+    int index = findOpenBatch(ms, sql);
+    if (index > -1) {
+      batch = batchList.get(index);
+      batch.getBatchResult().addParameterObject(parameterObject);
+      batch.add(handler, boundSql);
     } else {
-      Connection connection = getConnection(ms.getStatementLog());
-      stmt = handler.prepare(connection, transaction.getTimeout());
-      handler.parameterize(stmt);    //fix Issues 322
-      currentSql = sql;
-      currentStatement = ms;
-      statementList.add(stmt);
-      batchResultList.add(new BatchResult(ms, sql, parameterObject));
+      BatchResult batchResult = new BatchResult(ms, sql, parameterObject);
+      PendingBatch multiRowInsert = multiRowInsertSize > 1 ? MultiRowInsert.of(batchResult, boundSql, multiRowInsertSize) : null;
+      if (multiRowInsert != null) {
+        batch = multiRowInsert;
+      } else if (capture) {
+        batch = new CapturedBatch(batchResult, boundSql);
+      } else {
+        Connection connection = getConnection(ms.getStatementLog());
+        batch = new StatementBatch(batchResult, handler.prepare(connection, transaction.getTimeout()));
+      }
+      // reading the parameters may load lazy properties, which flushes the batches added before
+      batch.add(handler, boundSql);
+      if (batchGrouping == BatchGrouping.STATEMENT
+          || batchGrouping == BatchGrouping.COMMAND_TYPE && ms.getSqlCommandType() == SqlCommandType.INSERT) {
+        openBatches.computeIfAbsent(ms, k -> new HashMap<>()).put(sql, batchList.size());
+      }
+      index = batchList.size();
+      batchList.add(batch);
+    }
+    currentSql = sql;
+    currentStatement = ms;
+    currentIndex = index;
+    pendingRows++;
+    if (flushPendingBytes != Long.MAX_VALUE) {
+      pendingBytes += estimateSize(configuration, boundSql, parameterObject);
+    }
+    if (batch.getBatchResult().getParameterObjects().size() >= flushStatementRows || pendingRows >= flushPendingRows
+        || pendingBytes >= flushPendingBytes) {
+      // all pending batches are executed so that statements are not reordered
+      if (pipelineDepth > 0) {
+        submitBatches();
+      } else {
+        flushedResultList.addAll(retain(doFlushStatements(false)));
+      }
     }
-    handler.batch(stmt);
     return BATCH_UPDATE_RETURN_VALUE;
   }
 
+  private List<BatchResult> retain(List<BatchResult> results) {
+    switch (resultRetention) {
+      case NONE:
+        return Collections.emptyList();
+      case UPDATE_COUNTS:
+        List<BatchResult> summaries = new ArrayList<>(results.size());
+        for (BatchResult result : results) {
+          BatchResult summary = new BatchResult(result.getMappedStatement(), result.getSql());
+          summary.setUpdateCounts(result.getUpdateCounts());
+          summaries.add(summary);
+        }
+        return summaries;
+      default:
+        return results;
+    }
+  }
+
+  private long estimateSize(Configuration configuration, BoundSql boundSql, Object parameterObject) {
+    long size = 16;
+    List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
+    if (parameterMappings == null || parameterMappings.isEmpty()) {
+      return size;
+    }
+    boolean simpleParameter = parameterObject != null
+        && configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass());
+    for (ParameterMapping parameterMapping : parameterMappings) {
+      Object value;
+      String propertyName = parameterMapping.getProperty();
+      if (boundSql.hasAdditionalParameter(propertyName)) {
+        value = boundSql.getAdditionalParameter(propertyName);
+      } else if (parameterObject == null) {
+        value = null;
+      } else if (simpleParameter) {
+        value = parameterObject;
+      } else {
+        value = parameterMapping.getPropertyPath().getValue(parameterObject);
+      }
+      size += estimateSize(value);
+    }
+    return size;
+  }
+
+  private static long estimateSize(Object value) {
+    if (value instanceof CharSequence) {
+      return 40 + 2L * ((CharSequence) value).length();
+    } else if (value instanceof byte[]) {
+      return 16 + ((byte[]) value).length;
+    } else if (value instanceof char[]) {
+      return 16 + 2L * ((char[]) value).length;
+    }
+    return 16;
+  }
+
+  private static int positiveOrMax(Integer threshold) {
+    return threshold == null || threshold <= 0 ? Integer.MAX_VALUE : threshold;
+  }
+
+  private int findOpenBatch(MappedStatement ms, String sql) {
+    if (sql.equals(currentSql) && ms.equals(currentStatement)) {
+      // not necessarily the last batch, the previous execution may have joined an older one
+      return currentIndex;
+    }
+    if (batchGrouping == BatchGrouping.CONSECUTIVE) {
+      return -1;
+    }
+    if (batchGrouping == BatchGrouping.COMMAND_TYPE && (ms.getSqlCommandType() != SqlCommandType.INSERT
+        || currentStatement != null && currentStatement.getSqlCommandType() != SqlCommandType.INSERT)) {
+      // only inserts move ahead to an older batch, and never across another kind of statement
+      openBatches.clear();
+      return -1;
+    }
+    Map<String, Integer> batches = openBatches.get(ms);
+    if (batches == null) {
+      return -1;
+    }
+    Integer index = batches.get(sql);
+    return index == null ? -1 : index;
+  }
+
   @Override
   public <E> List<E> doQuery(MappedStatement ms, Object parameterObject, RowBounds rowBounds, ResultHandler resultHandler, BoundSql boundSql)
       throws SQLException {
@@ -110,53 +261,323 @@ public class BatchExecutor extends BaseExecutor {
   @Override
   public List<BatchResult> doFlushStatements(boolean isRollback) throws SQLException {
     try {
-      List<BatchResult> results = new ArrayList<>();
+      awaitPipeline(isRollback);
       if (isRollback) {
         return Collections.emptyList();
       }
-      for (int i = 0, n = statementList.size(); i < n; i++) {
-        Statement stmt = statementList.get(i);
-        applyTransactionTimeout(stmt);
-        BatchResult batchResult = batchResultList.get(i);
-        try {
-          batchResult.setUpdateCounts(stmt.executeBatch());
-          MappedStatement ms = batchResult.getMappedStatement();
-          List<Object> parameterObjects = batchResult.getParameterObjects();
-          KeyGenerator keyGenerator = ms.getKeyGenerator();
-          if (Jdbc3KeyGenerator.class.equals(keyGenerator.getClass())) {
-            Jdbc3KeyGenerator jdbc3KeyGenerator = (Jdbc3KeyGenerator) keyGenerator;
-            jdbc3KeyGenerator.processBatch(ms, stmt, parameterObjects);
-          } else if (!NoKeyGenerator.class.equals(keyGenerator.getClass())) { //issue #141
-            for (Object parameter : parameterObjects) {
-              keyGenerator.processAfter(this, ms, stmt, parameter);
-            }
-          }
-          // Close statement to close cursor #1109
-          closeStatement(stmt);
-        } catch (BatchUpdateException e) {
-          StringBuilder message = new StringBuilder();
-          message.append(batchResult.getMappedStatement().getId())
-              .append(" (batch index #")
-              .append(i + 1)
-              .append(")")
-              .append(" failed.");
-          if (i > 0) {
-            message.append(" ")
-                .append(i)
-                .append(" prior sub executor(s) completed successfully, but will be rolled back.");
-          }
-          throw new BatchExecutorException(message.toString(), e, results, batchResult);
-        }
-        results.add(batchResult);
-      }
+      List<BatchResult> results = new ArrayList<>(flushedResultList);
+      PipelinedBatches batches = new PipelinedBatches(batchList);
+      batches.bind();
+      batches.run();
+      batches.complete(results);
       return results;
     } finally {
-      for (Statement stmt : statementList) {
-        closeStatement(stmt);
+      closeBatches(batchList);
+      flushedResultList.clear();
+      clearBatches();
+    }
+  }
+
+  /**
+   * Hands the pending batches over to the async executor, once the batches handed over before are executed. The caller
+   * keeps adding executions meanwhile and waits when {@code pipelineDepth} groups of batches are handed over.
+   */
+  private void submitBatches() throws SQLException {
+    queuedBatches.add(new ArrayList<>(batchList));
+    clearBatches();
+    if (runningBatches == null) {
+      startNextBatches();
+    }
+    while (runningBatches != null && (runningBatches.isDone() || queuedBatches.size() >= pipelineDepth)) {
+      completeRunningBatches();
+    }
+  }
+
+  /**
+   * Binds the oldest queued batches on this thread and executes them on the async executor.
+   */
+  private void startNextBatches() throws SQLException {
+    List<PendingBatch> batches = queuedBatches.poll();
+    if (batches == null) {
+      return;
+    }
+    PipelinedBatches pipelined = new PipelinedBatches(batches);
+    try {
+      pipelined.bind();
+    } catch (SQLException | RuntimeException e) {
+      closeBatches(batches);
+      discardQueuedBatches();
+      throw e;
+    }
+    runningBatches = pipelined;
+    try {
+      configuration.getAsyncExecutor().execute(pipelined);
+    } catch (RejectedExecutionException e) {
+      // executed by the thread that waits for them
+    }
+  }
+
+  /**
+   * Waits for the running batches, completes them on this thread and starts the next ones. The batches queued after a
+   * failure are not executed.
+   */
+  private void completeRunningBatches() throws SQLException {
+    PipelinedBatches pipelined = runningBatches;
+    runningBatches = null;
+    pipelined.await();
+    List<BatchResult> results = new ArrayList<>();
+    try {
+      pipelined.complete(results);
+    } catch (SQLException | RuntimeException e) {
+      discardQueuedBatches();
+      throw e;
+    } finally {
+      closeBatches(pipelined.batches);
+    }
+    flushedResultList.addAll(retain(results));
+    startNextBatches();
+  }
+
+  /**
+   * Waits until all batches handed over to the async executor are executed, so that the connection can be used.
+   */
+  private void awaitPipeline(boolean discard) throws SQLException {
+    if (discard) {
+      if (runningBatches != null) {
+        runningBatches.await();
+        closeBatches(runningBatches.batches);
+        runningBatches = null;
+      }
+      discardQueuedBatches();
+      return;
+    }
+    while (runningBatches != null) {
+      completeRunningBatches();
+    }
+  }
+
+  private void discardQueuedBatches() {
+    List<PendingBatch> batches;
+    while ((batches = queuedBatches.poll()) != null) {
+      closeBatches(batches);
+    }
+  }
+
+  private void closeBatches(List<PendingBatch> batches) {
+    for (PendingBatch batch : batches) {
+      batch.close(this);
+    }
+  }
+
+  private void clearBatches() {
+    currentSql = null;
+    currentStatement = null;
+    currentIndex = -1;
+    openBatches.clear();
+    pendingRows = 0;
+    pendingBytes = 0;
+    batchList.clear();
+  }
+
+  private void processGeneratedKeys(MappedStatement ms, Statement stmt, List<Object> parameterObjects) throws SQLException {
+    KeyGenerator keyGenerator = ms.getKeyGenerator();
+    if (Jdbc3KeyGenerator.class.equals(keyGenerator.getClass())) {
+      Jdbc3KeyGenerator jdbc3KeyGenerator = (Jdbc3KeyGenerator) keyGenerator;
+      jdbc3KeyGenerator.processBatch(ms, stmt, parameterObjects);
+    } else if (!NoKeyGenerator.class.equals(keyGenerator.getClass())) { //issue #141
+      for (Object parameter : parameterObjects) {
+        keyGenerator.processAfter(this, ms, stmt, parameter);
+      }
+    }
+  }
+
+  /**
+   * A batch of a JDBC statement whose executions are bound when they are added.
+   */
+  private class StatementBatch implements PendingBatch {
+
+    private final BatchResult batchResult;
+    private final Statement statement;
+    private int[] updateCounts;
+
+    StatementBatch(BatchResult batchResult, Statement statement) {
+      this.batchResult = batchResult;
+      this.statement = statement;
+    }
+
+    @Override
+    public BatchResult getBatchResult() {
+      return batchResult;
+    }
+
+    @Override
+    public void add(StatementHandler handler, BoundSql boundSql) throws SQLException {
+      applyTransactionTimeout(statement);
+      handler.parameterize(statement);//fix Issues 322
+      handler.batch(statement);
+    }
+
+    @Override
+    public void bind(BaseExecutor executor) throws SQLException {
+      applyTransactionTimeout(statement);
+    }
+
+    @Override
+    public void execute() throws SQLException {
+      updateCounts = statement.executeBatch();
+    }
+
+    @Override
+    public void complete(BaseExecutor executor) throws SQLException {
+      batchResult.setUpdateCounts(updateCounts);
+      processGeneratedKeys(batchResult.getMappedStatement(), statement, batchResult.getParameterObjects());
+      // Close statement to close cursor #1109
+      closeStatement(statement);
+    }
+
+    @Override
+    public void close(BaseExecutor executor) {
+      closeStatement(statement);
+    }
+  }
+
+  /**
+   * A batch of a prepared statement whose executions are kept as values and bound by {@link #bind(BaseExecutor)}.
+   */
+  private class CapturedBatch implements PendingBatch {
+
+    private final BatchResult batchResult;
+    private final BoundSql boundSql;
+    private final List<BatchRow> rows = new ArrayList<>();
+    private Statement statement;
+    private int[] updateCounts;
+
+    CapturedBatch(BatchResult batchResult, BoundSql boundSql) {
+      this.batchResult = batchResult;
+      this.boundSql = boundSql;
+    }
+
+    @Override
+    public BatchResult getBatchResult() {
+      return batchResult;
+    }
+
+    @Override
+    public void add(StatementHandler handler, BoundSql boundSql) {
+      rows.add(BatchRow.capture(configuration, boundSql));
+    }
+
+    @Override
+    public void bind(BaseExecutor executor) throws SQLException {
+      MappedStatement ms = batchResult.getMappedStatement();
+      StatementHandler handler = configuration.newStatementHandler(executor, ms, boundSql.getParameterObject(),
+          RowBounds.DEFAULT, null, boundSql);
+      statement = handler.prepare(getConnection(ms.getStatementLog()), transaction.getTimeout());
+      ErrorContext.instance().activity("setting parameters").object(ms.getParameterMap().getId());
+      for (BatchRow row : rows) {
+        row.bind(configuration, (PreparedStatement) statement, 0);
+        handler.batch(statement);
+      }
+    }
+
+    @Override
+    public void execute() throws SQLException {
+      updateCounts = statement.executeBatch();
+    }
+
+    @Override
+    public void complete(BaseExecutor executor) throws SQLException {
+      batchResult.setUpdateCounts(updateCounts);
+      processGeneratedKeys(batchResult.getMappedStatement(), statement, batchResult.getParameterObjects());
+      closeStatement(statement);
+    }
+
+    @Override
+    public void close(BaseExecutor executor) {
+      closeStatement(statement);
+    }
+  }
+
+  /**
+   * Batches that are executed in order, either on the async executor or by the first thread that waits for them.
+   */
+  private class PipelinedBatches implements Runnable {
+
+    private final List<PendingBatch> batches;
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final CompletableFuture<Void> done = new CompletableFuture<>();
+    // the number of batches executed before a failure
+    private int executed;
+    private Throwable failure;
+
+    PipelinedBatches(List<PendingBatch> batches) {
+      this.batches = batches;
+    }
+
+    void bind() throws SQLException {
+      for (PendingBatch batch : batches) {
+        batch.bind(BatchExecutor.this);
+      }
+    }
+
+    @Override
+    public void run() {
+      if (!started.compareAndSet(false, true)) {
+        return;
+      }
+      try {
+        for (PendingBatch batch : batches) {
+          batch.execute();
+          executed++;
+        }
+      } catch (Throwable t) {
+        failure = t;
+      } finally {
+        done.complete(null);
+      }
+    }
+
+    boolean isDone() {
+      return done.isDone();
+    }
+
+    void await() {
+      run();
+      done.join();
+    }
+
+    /**
+     * Completes the executed batches and adds their results, then throws the failure of the next batch, if any.
+     */
+    void complete(List<BatchResult> results) throws SQLException {
+      for (int i = 0; i < executed; i++) {
+        PendingBatch batch = batches.get(i);
+        batch.complete(BatchExecutor.this);
+        results.add(batch.getBatchResult());
+      }
+      if (failure instanceof BatchUpdateException) {
+        StringBuilder message = new StringBuilder();
+        message.append(batches.get(executed).getBatchResult().getMappedStatement().getId())
+            .append(" (batch index #")
+            .append(executed + 1)
+            .append(")")
+            .append(" failed.");
+        if (executed > 0) {
+          message.append(" ")
+              .append(executed)
+              .append(" prior sub executor(s) completed successfully, but will be rolled back.");
+        }
+        throw new BatchExecutorException(message.toString(), (BatchUpdateException) failure, results,
+            batches.get(executed).getBatchResult());
+      } else if (failure instanceof SQLException) {
+        throw (SQLException) failure;
+      } else if (failure instanceof RuntimeException) {
+        throw (RuntimeException) failure;
+      } else if (failure instanceof Error) {
+        throw (Error) failure;
+      } else if (failure != null) {
+        throw new ExecutorException("Error executing batches.  Cause: " + failure, failure);
       }
-      currentSql = null;
-      statementList.clear();
-      batchResultList.clear();
     }
   }
 
@@ -0,0 +1,120 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.apache.ibatis.executor.keygen.Jdbc3KeyGenerator;
+import org.apache.ibatis.executor.keygen.NoKeyGenerator;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.mapping.StatementType;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.TypeException;
+import org.apache.ibatis.type.TypeHandler;
+import org.apache.ibatis.type.TypeHandlerRegistry;
+
+/**
+ * The parameter values of a batched execution, read when the execution is queued like JDBC binds them when a row is
+ * added to a batch, so that the caller may change the parameter object afterwards.
+ */
+final class BatchRow {
+
+  private final List<ParameterMapping> parameterMappings;
+  private final Object[] values;
+
+  private BatchRow(List<ParameterMapping> parameterMappings, Object[] values) {
+    this.parameterMappings = parameterMappings;
+    this.values = values;
+  }
+
+  /**
+   * Whether the executions of the statement can be bound later from their values: it is prepared and its keys are not
+   * generated, or are generated by the driver.
+   */
+  static boolean canCapture(MappedStatement ms) {
+    Class<?> keyGeneratorType = ms.getKeyGenerator().getClass();
+    return ms.getStatementType() == StatementType.PREPARED
+        && (NoKeyGenerator.class.equals(keyGeneratorType) || Jdbc3KeyGenerator.class.equals(keyGeneratorType));
+  }
+
+  /**
+   * Whether all the parameters are input parameters.
+   */
+  static boolean canCapture(BoundSql boundSql) {
+    for (ParameterMapping parameterMapping : boundSql.getParameterMappings()) {
+      if (parameterMapping.getMode() != ParameterMode.IN) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Reads the values of the parameters the way the
+   * {@link org.apache.ibatis.scripting.defaults.DefaultParameterHandler} does.
+   */
+  static BatchRow capture(Configuration configuration, BoundSql boundSql) {
+    List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
+    Object parameterObject = boundSql.getParameterObject();
+    TypeHandlerRegistry typeHandlerRegistry = configuration.getTypeHandlerRegistry();
+    boolean simpleParameter = parameterObject != null && typeHandlerRegistry.hasTypeHandler(parameterObject.getClass());
+    Object[] values = new Object[parameterMappings.size()];
+    for (int i = 0; i < values.length; i++) {
+      String propertyName = parameterMappings.get(i).getProperty();
+      if (boundSql.hasAdditionalParameter(propertyName)) {
+        values[i] = boundSql.getAdditionalParameter(propertyName);
+      } else if (parameterObject == null) {
+        values[i] = null;
+      } else if (simpleParameter) {
+        values[i] = parameterObject;
+      } else {
+        values[i] = parameterMappings.get(i).getPropertyPath().getValue(parameterObject);
+      }
+    }
+    return new BatchRow(parameterMappings, values);
+  }
+
+  int getParameterCount() {
+    return values.length;
+  }
+
+  /**
+   * Sets the values to the parameters of the statement, starting after the first {@code offset} ones.
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  void bind(Configuration configuration, PreparedStatement ps, int offset) {
+    for (int i = 0; i < values.length; i++) {
+      ParameterMapping parameterMapping = parameterMappings.get(i);
+      TypeHandler typeHandler = parameterMapping.getTypeHandler();
+      JdbcType jdbcType = parameterMapping.getJdbcType();
+      if (values[i] == null && jdbcType == null) {
+        jdbcType = configuration.getJdbcTypeForNull();
+      }
+      try {
+        typeHandler.setParameter(ps, offset + i + 1, values[i], jdbcType);
+      } catch (TypeException | SQLException e) {
+        throw new TypeException("Could not set parameters for mapping: " + parameterMapping + ". Cause: " + e, e);
+      }
+    }
+  }
+
+}
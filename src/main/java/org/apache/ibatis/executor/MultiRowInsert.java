@@ -0,0 +1,225 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
+
+/**
+ * Rows queued on an {@code INSERT ... VALUES (...)} statement that are executed as multi-row inserts.
+ * <p>
+ * The rows are split into statements of {@code maxRows} rows plus at most one statement of each smaller power of two,
+ * so a statement prepares no more than a few distinct sql strings however many rows are queued. The parameter values
+ * of each row are read when the row is queued, like a JDBC batch does.
+ */
+class MultiRowInsert implements PendingBatch {
+
+  private final BatchResult batchResult;
+  private final String head;
+  private final String values;
+  private final int maxRows;
+  private final List<BatchRow> rows = new ArrayList<>();
+  private final List<PreparedRows> statements = new ArrayList<>();
+
+  private MultiRowInsert(BatchResult batchResult, String head, String values, int maxRows) {
+    this.batchResult = batchResult;
+    this.head = head;
+    this.values = values;
+    this.maxRows = maxRows;
+  }
+
+  /**
+   * Returns an empty multi-row insert for the statement, or {@code null} when it is not a plain single row
+   * {@code INSERT ... VALUES (...)} or its keys are not generated by the driver.
+   */
+  static MultiRowInsert of(BatchResult batchResult, BoundSql boundSql, int maxRows) {
+    MappedStatement ms = batchResult.getMappedStatement();
+    if (ms.getSqlCommandType() != SqlCommandType.INSERT || !BatchRow.canCapture(ms) || !BatchRow.canCapture(boundSql)) {
+      return null;
+    }
+    String sql = boundSql.getSql();
+    int valuesStart = findValues(sql);
+    if (valuesStart < 0) {
+      return null;
+    }
+    int valuesEnd = findClosingParenthesis(sql, valuesStart);
+    if (valuesEnd < 0 || !sql.substring(valuesEnd + 1).trim().isEmpty()) {
+      return null;
+    }
+    return new MultiRowInsert(batchResult, sql.substring(0, valuesStart), sql.substring(valuesStart, valuesEnd + 1), maxRows);
+  }
+
+  @Override
+  public BatchResult getBatchResult() {
+    return batchResult;
+  }
+
+  @Override
+  public void add(StatementHandler handler, BoundSql boundSql) {
+    rows.add(BatchRow.capture(batchResult.getMappedStatement().getConfiguration(), boundSql));
+  }
+
+  @Override
+  public void bind(BaseExecutor executor) throws SQLException {
+    MappedStatement ms = batchResult.getMappedStatement();
+    Configuration configuration = ms.getConfiguration();
+    int offset = 0;
+    int statementRows = maxRows;
+    while (offset < rows.size()) {
+      int count = (rows.size() - offset) / statementRows;
+      if (count > 0) {
+        BoundSql boundSql = new BoundSql(configuration, sql(statementRows), new ArrayList<>(), null);
+        StatementHandler handler = configuration.newStatementHandler(executor, ms, null, RowBounds.DEFAULT, null, boundSql);
+        PreparedStatement ps = (PreparedStatement) handler.prepare(executor.getConnection(ms.getStatementLog()),
+            executor.transaction.getTimeout());
+        statements.add(new PreparedRows(ps, offset, count, statementRows));
+        ErrorContext.instance().activity("setting parameters").object(ms.getParameterMap().getId());
+        for (int i = 0; i < count; i++) {
+          int parameterOffset = 0;
+          for (int row = 0; row < statementRows; row++) {
+            BatchRow batchRow = rows.get(offset + i * statementRows + row);
+            batchRow.bind(configuration, ps, parameterOffset);
+            parameterOffset += batchRow.getParameterCount();
+          }
+          handler.batch(ps);
+        }
+        offset += count * statementRows;
+      }
+      statementRows = Integer.highestOneBit(Math.max(1, Math.min(statementRows - 1, rows.size() - offset)));
+    }
+  }
+
+  @Override
+  public void execute() throws SQLException {
+    for (PreparedRows prepared : statements) {
+      prepared.counts = prepared.statement.executeBatch();
+    }
+  }
+
+  /**
+   * Sets one update count per row to the batch result.
+   */
+  @Override
+  public void complete(BaseExecutor executor) throws SQLException {
+    MappedStatement ms = batchResult.getMappedStatement();
+    List<Object> parameterObjects = batchResult.getParameterObjects();
+    int[] updateCounts = new int[rows.size()];
+    for (PreparedRows prepared : statements) {
+      for (int i = 0; i < prepared.count; i++) {
+        int rowCount = prepared.counts[i] == prepared.statementRows ? 1 : Statement.SUCCESS_NO_INFO;
+        for (int row = 0; row < prepared.statementRows; row++) {
+          updateCounts[prepared.offset + i * prepared.statementRows + row] = rowCount;
+        }
+      }
+      int end = prepared.offset + prepared.count * prepared.statementRows;
+      ms.getKeyGenerator().processAfter(executor, ms, prepared.statement,
+          new ArrayList<>(parameterObjects.subList(prepared.offset, end)));
+    }
+    batchResult.setUpdateCounts(updateCounts);
+    close(executor);
+  }
+
+  @Override
+  public void close(BaseExecutor executor) {
+    for (PreparedRows prepared : statements) {
+      executor.closeStatement(prepared.statement);
+    }
+    statements.clear();
+  }
+
+  private String sql(int rowCount) {
+    StringBuilder sql = new StringBuilder(head.length() + rowCount * (values.length() + 2));
+    sql.append(head).append(values);
+    for (int i = 1; i < rowCount; i++) {
+      sql.append(", ").append(values);
+    }
+    return sql.toString();
+  }
+
+  private static int findValues(String sql) {
+    int length = sql.length();
+    for (int i = 0; i < length; i++) {
+      char c = sql.charAt(i);
+      if (c == '\'' || c == '"' || c == '`') {
+        i = sql.indexOf(c, i + 1);
+        if (i < 0) {
+          return -1;
+        }
+      } else if (c == '?') {
+        // the rows must not share parameters
+        return -1;
+      } else if ((c == 'v' || c == 'V') && sql.regionMatches(true, i, "values", 0, 6)
+          && (i == 0 || !Character.isJavaIdentifierPart(sql.charAt(i - 1)))) {
+        int next = i + 6;
+        while (next < length && Character.isWhitespace(sql.charAt(next))) {
+          next++;
+        }
+        if (next < length && sql.charAt(next) == '(') {
+          return next;
+        }
+      }
+    }
+    return -1;
+  }
+
+  private static int findClosingParenthesis(String sql, int start) {
+    int depth = 0;
+    for (int i = start; i < sql.length(); i++) {
+      char c = sql.charAt(i);
+      if (c == '\'' || c == '"' || c == '`') {
+        i = sql.indexOf(c, i + 1);
+        if (i < 0) {
+          return -1;
+        }
+      } else if (c == '(') {
+        depth++;
+      } else if (c == ')' && --depth == 0) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * A statement prepared for {@code count} executions of {@code statementRows} rows, starting at the row {@code offset}.
+   */
+  private static class PreparedRows {
+
+    private final PreparedStatement statement;
+    private final int offset;
+    private final int count;
+    private final int statementRows;
+    private int[] counts;
+
+    PreparedRows(PreparedStatement statement, int offset, int count, int statementRows) {
+      this.statement = statement;
+      this.offset = offset;
+      this.count = count;
+      this.statementRows = statementRows;
+    }
+  }
+
+}
@@ -0,0 +1,59 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor;
+
+import java.sql.SQLException;
+
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+
+/**
+ * The executions of a statement queued by the {@link BatchExecutor}.
+ * <p>
+ * A batch is bound and completed on the thread of the session. Only {@link #execute()} may run on a pipeline worker,
+ * and the session does not use the connection meanwhile.
+ */
+interface PendingBatch {
+
+  BatchResult getBatchResult();
+
+  /**
+   * Adds an execution to the batch.
+   */
+  void add(StatementHandler handler, BoundSql boundSql) throws SQLException;
+
+  /**
+   * Prepares the statements of the batch and binds their parameters, unless that was done when the executions were
+   * added.
+   */
+  void bind(BaseExecutor executor) throws SQLException;
+
+  /**
+   * Executes the bound statements, without using anything else than them.
+   */
+  void execute() throws SQLException;
+
+  /**
+   * Sets the update counts to the batch result, assigns the generated keys and closes the statements.
+   */
+  void complete(BaseExecutor executor) throws SQLException;
+
+  /**
+   * Closes the statements, whether the batch was executed or not.
+   */
+  void close(BaseExecutor executor);
+
+}
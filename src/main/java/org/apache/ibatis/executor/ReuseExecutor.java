@@ -78,11 +78,11 @@ public class ReuseExecutor extends BaseExecutor {
   }
 
   private Statement prepareStatement(StatementHandler handler, Log statementLog) throws SQLException {
-    Statement stmt;
     BoundSql boundSql = handler.getBoundSql();
     String sql = boundSql.getSql();
-    if (hasStatementFor(sql)) {
-      stmt = getStatement(sql);
+    // the statements are closed by flushStatements() before the transaction commits, rolls back or closes its connection
+    Statement stmt = statementMap.get(sql);
+    if (stmt != null) {
       applyTransactionTimeout(stmt);
     } else {
       Connection connection = getConnection(statementLog);
@@ -93,18 +93,6 @@ public class ReuseExecutor extends BaseExecutor {
     return stmt;
   }
 
-  private boolean hasStatementFor(String sql) {
-    try {
-      return statementMap.keySet().contains(sql) && !statementMap.get(sql).getConnection().isClosed();
-    } catch (SQLException e) {
-      return false;
-    }
-  }
-
-  private Statement getStatement(String s) {
-    return statementMap.get(s);
-  }
-
   private void putStatement(String sql, Statement stmt) {
     statementMap.put(sql, stmt);
   }
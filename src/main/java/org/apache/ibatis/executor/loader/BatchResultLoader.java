@@ -0,0 +1,224 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.loader;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.binding.MapperMethod.ParamMap;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.ResultExtractor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ResultMapping;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
+
+/**
+ * Loads the nested query results of several rows with one execution of the nested query per
+ * {@link ResultMapping#getBatchSize() batch}. The nested query receives the parameter objects of the rows in a
+ * parameter named {@code list}. Its results are assigned to the rows whose parameter object has the same values for
+ * the properties of the composite column.
+ * <p>
+ * Rows can be loaded all at once with {@link #load()}, or lazily: the first lazy loader that is triggered loads its
+ * row together with up to batch size minus one other rows registered with this instance.
+ *
+ * @since 3.5.1
+ */
+public class BatchResultLoader {
+
+  private final Configuration configuration;
+  private final Executor executor;
+  private final MappedStatement mappedStatement;
+  private final ResultMapping resultMapping;
+  private final ResultExtractor resultExtractor;
+  private final long creatorThreadId;
+  private final Map<List<Object>, PendingLoad> pendingLoads = new LinkedHashMap<>();
+  // values of the rows loaded lazily, for loaders triggered after a sibling loaded their row
+  private final Map<List<Object>, Object> loadedValues = new HashMap<>();
+
+  private static class PendingLoad {
+    private final Object parameterObject;
+    private final List<MetaObject> metaObjects = new ArrayList<>();
+
+    PendingLoad(Object parameterObject) {
+      this.parameterObject = parameterObject;
+    }
+  }
+
+  public BatchResultLoader(Configuration configuration, Executor executor, MappedStatement mappedStatement, ResultMapping resultMapping) {
+    this.configuration = configuration;
+    this.executor = executor;
+    this.mappedStatement = mappedStatement;
+    this.resultMapping = resultMapping;
+    this.resultExtractor = new ResultExtractor(configuration, configuration.getObjectFactory());
+    this.creatorThreadId = Thread.currentThread().getId();
+  }
+
+  /**
+   * Registers a row whose property is set by the next {@link #load()}.
+   *
+   * @param parameterObject the parameter object of the nested query for the row
+   * @param metaResultObject the row
+   */
+  public synchronized void addLoad(Object parameterObject, MetaObject metaResultObject) {
+    register(parameterObject, metaResultObject);
+  }
+
+  /**
+   * Registers a row and returns the loader to add to its {@link ResultLoaderMap}.
+   *
+   * @param parameterObject the parameter object of the nested query for the row
+   * @param metaResultObject the row
+   * @return a loader that loads the row together with other registered rows
+   */
+  public synchronized ResultLoader addLazyLoad(Object parameterObject, MetaObject metaResultObject) {
+    List<Object> key = register(parameterObject, metaResultObject);
+    return new BatchMemberLoader(this, parameterObject, key);
+  }
+
+  public synchronized boolean isEmpty() {
+    return pendingLoads.isEmpty();
+  }
+
+  /**
+   * Executes the nested query for all registered rows and sets their property.
+   */
+  public void load() throws SQLException {
+    List<List<Object>> keys;
+    synchronized (this) {
+      keys = new ArrayList<>(pendingLoads.keySet());
+    }
+    int batchSize = resultMapping.getBatchSize();
+    for (int i = 0; i < keys.size(); i += batchSize) {
+      loadBatch(keys.subList(i, Math.min(i + batchSize, keys.size())), false);
+    }
+  }
+
+  private Object loadLazily(List<Object> key) throws SQLException {
+    List<List<Object>> keys = new ArrayList<>();
+    synchronized (this) {
+      if (!pendingLoads.containsKey(key)) {
+        return loadedValues.get(key);
+      }
+      keys.add(key);
+      for (List<Object> pendingKey : pendingLoads.keySet()) {
+        if (keys.size() >= resultMapping.getBatchSize()) {
+          break;
+        }
+        if (!pendingKey.equals(key)) {
+          keys.add(pendingKey);
+        }
+      }
+    }
+    return loadBatch(keys, true).get(key);
+  }
+
+  private Map<List<Object>, Object> loadBatch(List<List<Object>> keys, boolean keepValues) throws SQLException {
+    Map<List<Object>, Object> values = new HashMap<>();
+    List<PendingLoad> loads = new ArrayList<>();
+    synchronized (this) {
+      List<Object> parameterObjects = new ArrayList<>();
+      for (List<Object> key : keys) {
+        parameterObjects.add(pendingLoads.get(key).parameterObject);
+      }
+      Map<List<Object>, List<Object>> results = new HashMap<>();
+      for (Object row : selectList(wrapParameterObjects(parameterObjects))) {
+        results.computeIfAbsent(keyOf(configuration.newMetaObject(row)), k -> new ArrayList<>()).add(row);
+      }
+      for (List<Object> key : keys) {
+        List<Object> rows = results.getOrDefault(key, Collections.emptyList());
+        values.put(key, resultExtractor.extractObjectFromList(new ArrayList<>(rows), resultMapping.getJavaType()));
+        loads.add(pendingLoads.remove(key));
+      }
+      if (keepValues) {
+        loadedValues.putAll(values);
+      }
+    }
+    // rows are set outside the lock, setting a lazy row locks its loaders
+    String property = resultMapping.getProperty();
+    for (int i = 0; i < keys.size(); i++) {
+      Object value = values.get(keys.get(i));
+      for (MetaObject metaObject : loads.get(i).metaObjects) {
+        if (value != null || (configuration.isCallSettersOnNulls() && !metaObject.getSetterType(property).isPrimitive())) {
+          metaObject.setValue(property, value);
+        }
+      }
+    }
+    return values;
+  }
+
+  private List<Object> selectList(Object parameterObject) throws SQLException {
+    Executor localExecutor = executor;
+    if (Thread.currentThread().getId() != this.creatorThreadId || localExecutor.isClosed()) {
+      localExecutor = ResultLoader.newExecutor(configuration);
+    }
+    try {
+      return localExecutor.query(mappedStatement, parameterObject, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+    } finally {
+      if (localExecutor != executor) {
+        localExecutor.close(false);
+      }
+    }
+  }
+
+  private List<Object> register(Object parameterObject, MetaObject metaResultObject) {
+    List<Object> key = keyOf(configuration.newMetaObject(parameterObject));
+    pendingLoads.computeIfAbsent(key, k -> new PendingLoad(parameterObject)).metaObjects.add(metaResultObject);
+    return key;
+  }
+
+  private static Object wrapParameterObjects(List<Object> parameterObjects) {
+    ParamMap<Object> paramMap = new ParamMap<>();
+    paramMap.put("list", parameterObjects);
+    paramMap.put("collection", parameterObjects);
+    return paramMap;
+  }
+
+  private List<Object> keyOf(MetaObject metaObject) {
+    List<Object> key = new ArrayList<>();
+    for (ResultMapping composite : resultMapping.getComposites()) {
+      key.add(metaObject.getValue(composite.getProperty()));
+    }
+    return key;
+  }
+
+  private static class BatchMemberLoader extends ResultLoader {
+
+    private final BatchResultLoader batchResultLoader;
+    private final List<Object> key;
+
+    BatchMemberLoader(BatchResultLoader batchResultLoader, Object parameterObject, List<Object> key) {
+      // a batch of one row, so a deserialized result object can still load the property on its own
+      super(batchResultLoader.configuration, batchResultLoader.executor, batchResultLoader.mappedStatement,
+          wrapParameterObjects(Collections.singletonList(parameterObject)), batchResultLoader.resultMapping.getJavaType(), null, null);
+      this.batchResultLoader = batchResultLoader;
+      this.key = key;
+    }
+
+    @Override
+    public Object loadResult() throws SQLException {
+      resultObject = batchResultLoader.loadLazily(key);
+      return resultObject;
+    }
+  }
+
+}
@@ -15,17 +15,21 @@
  */
 package org.apache.ibatis.executor.loader.cglib;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import net.sf.cglib.proxy.Callback;
 import net.sf.cglib.proxy.Enhancer;
 import net.sf.cglib.proxy.MethodInterceptor;
 import net.sf.cglib.proxy.MethodProxy;
 
+import org.apache.ibatis.executor.ExecutorException;
 import org.apache.ibatis.executor.loader.AbstractEnhancedDeserializationProxy;
 import org.apache.ibatis.executor.loader.AbstractSerialStateHolder;
 import org.apache.ibatis.executor.loader.ProxyFactory;
@@ -48,6 +52,13 @@ public class CglibProxyFactory implements ProxyFactory {
   private static final String FINALIZE_METHOD = "finalize";
   private static final String WRITE_REPLACE_METHOD = "writeReplace";
 
+  private static final ClassValue<ProxyClass> PROXY_CLASSES = new ClassValue<ProxyClass>() {
+    @Override
+    protected ProxyClass computeValue(Class<?> type) {
+      return new ProxyClass(type);
+    }
+  };
+
   public CglibProxyFactory() {
     try {
       Resources.classForName("net.sf.cglib.proxy.Enhancer");
@@ -71,29 +82,54 @@ public class CglibProxyFactory implements ProxyFactory {
   }
 
   static Object crateProxy(Class<?> type, Callback callback, List<Class<?>> constructorArgTypes, List<Object> constructorArgs) {
-    Enhancer enhancer = new Enhancer();
-    enhancer.setCallback(callback);
-    enhancer.setSuperclass(type);
     try {
-      type.getDeclaredMethod(WRITE_REPLACE_METHOD);
-      // ObjectOutputStream will call writeReplace of objects returned by writeReplace
-      if (LogHolder.log.isDebugEnabled()) {
-        LogHolder.log.debug(WRITE_REPLACE_METHOD + " method was found on bean " + type + ", make sure it returns this");
+      return PROXY_CLASSES.get(type).newInstance(callback, constructorArgTypes, constructorArgs);
+    } catch (Exception e) {
+      throw new ExecutorException("Error creating lazy proxy.  Cause: " + e, e);
+    }
+  }
+
+  /**
+   * The proxy class generated for a result type, with its constructors looked up once per signature.
+   */
+  private static class ProxyClass {
+
+    private final Class<?> proxyType;
+    private final Map<List<Class<?>>, Constructor<?>> constructors = new ConcurrentHashMap<>();
+
+    private ProxyClass(Class<?> type) {
+      Enhancer enhancer = new Enhancer();
+      enhancer.setCallbackType(MethodInterceptor.class);
+      enhancer.setSuperclass(type);
+      try {
+        type.getDeclaredMethod(WRITE_REPLACE_METHOD);
+        // ObjectOutputStream will call writeReplace of objects returned by writeReplace
+        if (LogHolder.log.isDebugEnabled()) {
+          LogHolder.log.debug(WRITE_REPLACE_METHOD + " method was found on bean " + type + ", make sure it returns this");
+        }
+      } catch (NoSuchMethodException e) {
+        enhancer.setInterfaces(new Class[]{WriteReplaceInterface.class});
+      } catch (SecurityException e) {
+        // nothing to do here
       }
-    } catch (NoSuchMethodException e) {
-      enhancer.setInterfaces(new Class[]{WriteReplaceInterface.class});
-    } catch (SecurityException e) {
-      // nothing to do here
+      this.proxyType = enhancer.createClass();
     }
-    Object enhanced;
-    if (constructorArgTypes.isEmpty()) {
-      enhanced = enhancer.create();
-    } else {
-      Class<?>[] typesArray = constructorArgTypes.toArray(new Class[constructorArgTypes.size()]);
-      Object[] valuesArray = constructorArgs.toArray(new Object[constructorArgs.size()]);
-      enhanced = enhancer.create(typesArray, valuesArray);
+
+    private Object newInstance(Callback callback, List<Class<?>> constructorArgTypes, List<Object> constructorArgs) throws ReflectiveOperationException {
+      Constructor<?> constructor = constructors.get(constructorArgTypes);
+      if (constructor == null) {
+        constructor = proxyType.getDeclaredConstructor(constructorArgTypes.toArray(new Class[constructorArgTypes.size()]));
+        constructor.setAccessible(true);
+        constructors.put(new ArrayList<>(constructorArgTypes), constructor);
+      }
+      // the generated constructor picks up the callback registered for the current thread
+      Enhancer.registerCallbacks(proxyType, new Callback[]{callback});
+      try {
+        return constructor.newInstance(constructorArgs.toArray(new Object[constructorArgs.size()]));
+      } finally {
+        Enhancer.registerCallbacks(proxyType, null);
+      }
     }
-    return enhanced;
   }
 
   private static class EnhancedResultObjectProxyImpl implements MethodInterceptor {
@@ -15,11 +15,14 @@
  */
 package org.apache.ibatis.executor.loader.javassist;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javassist.util.proxy.MethodHandler;
 import javassist.util.proxy.Proxy;
@@ -47,6 +50,13 @@ public class JavassistProxyFactory implements org.apache.ibatis.executor.loader.
   private static final String FINALIZE_METHOD = "finalize";
   private static final String WRITE_REPLACE_METHOD = "writeReplace";
 
+  private static final ClassValue<ProxyClass> PROXY_CLASSES = new ClassValue<ProxyClass>() {
+    @Override
+    protected ProxyClass computeValue(Class<?> type) {
+      return new ProxyClass(type);
+    }
+  };
+
   public JavassistProxyFactory() {
     try {
       Resources.classForName("javassist.util.proxy.ProxyFactory");
@@ -70,27 +80,9 @@ public class JavassistProxyFactory implements org.apache.ibatis.executor.loader.
   }
 
   static Object crateProxy(Class<?> type, MethodHandler callback, List<Class<?>> constructorArgTypes, List<Object> constructorArgs) {
-
-    ProxyFactory enhancer = new ProxyFactory();
-    enhancer.setSuperclass(type);
-
-    try {
-      type.getDeclaredMethod(WRITE_REPLACE_METHOD);
-      // ObjectOutputStream will call writeReplace of objects returned by writeReplace
-      if (LogHolder.log.isDebugEnabled()) {
-        LogHolder.log.debug(WRITE_REPLACE_METHOD + " method was found on bean " + type + ", make sure it returns this");
-      }
-    } catch (NoSuchMethodException e) {
-      enhancer.setInterfaces(new Class[]{WriteReplaceInterface.class});
-    } catch (SecurityException e) {
-      // nothing to do here
-    }
-
     Object enhanced;
-    Class<?>[] typesArray = constructorArgTypes.toArray(new Class[constructorArgTypes.size()]);
-    Object[] valuesArray = constructorArgs.toArray(new Object[constructorArgs.size()]);
     try {
-      enhanced = enhancer.create(typesArray, valuesArray);
+      enhanced = PROXY_CLASSES.get(type).newInstance(constructorArgTypes, constructorArgs);
     } catch (Exception e) {
       throw new ExecutorException("Error creating lazy proxy.  Cause: " + e, e);
     }
@@ -98,6 +90,43 @@ public class JavassistProxyFactory implements org.apache.ibatis.executor.loader.
     return enhanced;
   }
 
+  /**
+   * The proxy class generated for a result type, with its constructors looked up once per signature.
+   */
+  private static class ProxyClass {
+
+    private final Class<?> proxyType;
+    private final Map<List<Class<?>>, Constructor<?>> constructors = new ConcurrentHashMap<>();
+
+    private ProxyClass(Class<?> type) {
+      ProxyFactory enhancer = new ProxyFactory();
+      enhancer.setSuperclass(type);
+
+      try {
+        type.getDeclaredMethod(WRITE_REPLACE_METHOD);
+        // ObjectOutputStream will call writeReplace of objects returned by writeReplace
+        if (LogHolder.log.isDebugEnabled()) {
+          LogHolder.log.debug(WRITE_REPLACE_METHOD + " method was found on bean " + type + ", make sure it returns this");
+        }
+      } catch (NoSuchMethodException e) {
+        enhancer.setInterfaces(new Class[]{WriteReplaceInterface.class});
+      } catch (SecurityException e) {
+        // nothing to do here
+      }
+
+      this.proxyType = enhancer.createClass();
+    }
+
+    private Object newInstance(List<Class<?>> constructorArgTypes, List<Object> constructorArgs) throws ReflectiveOperationException {
+      Constructor<?> constructor = constructors.get(constructorArgTypes);
+      if (constructor == null) {
+        constructor = proxyType.getConstructor(constructorArgTypes.toArray(new Class[constructorArgTypes.size()]));
+        constructors.put(new ArrayList<>(constructorArgTypes), constructor);
+      }
+      return constructor.newInstance(constructorArgs.toArray(new Object[constructorArgs.size()]));
+    }
+  }
+
   private static class EnhancedResultObjectProxyImpl implements MethodHandler {
 
     private final Class<?> type;
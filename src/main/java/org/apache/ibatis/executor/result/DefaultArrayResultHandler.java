@@ -0,0 +1,65 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.result;
+
+import java.lang.reflect.Array;
+
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+
+/**
+ * Stores the rows of a statement in an array of the given component type, which may be primitive. The array grows
+ * as rows arrive, because a result set does not tell its row count up front.
+ *
+ * @since 3.5.1
+ */
+public class DefaultArrayResultHandler implements ResultHandler<Object> {
+
+  private static final int DEFAULT_CAPACITY = 10;
+
+  private final Class<?> componentType;
+  private Object array;
+  private int size;
+
+  public DefaultArrayResultHandler(Class<?> componentType) {
+    this.componentType = componentType;
+    this.array = Array.newInstance(componentType, DEFAULT_CAPACITY);
+  }
+
+  @Override
+  public void handleResult(ResultContext<?> context) {
+    if (size == Array.getLength(array)) {
+      array = copyOf(size + (size >> 1));
+    }
+    if (componentType.isPrimitive()) {
+      Array.set(array, size, context.getResultObject());
+    } else {
+      ((Object[]) array)[size] = context.getResultObject();
+    }
+    size++;
+  }
+
+  public Object getArray() {
+    return size == Array.getLength(array) ? array : copyOf(size);
+  }
+
+  private Object copyOf(int length) {
+    Object copy = Array.newInstance(componentType, length);
+    System.arraycopy(array, 0, copy, 0, size);
+    return copy;
+  }
+
+}
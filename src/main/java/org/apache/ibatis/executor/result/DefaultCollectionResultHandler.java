@@ -0,0 +1,48 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.result;
+
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+
+/**
+ * Adds the rows of a statement to a collection of a declared type, e.g. the {@code Set} a mapper method returns,
+ * without collecting them into a list first.
+ *
+ * @since 3.5.1
+ */
+public class DefaultCollectionResultHandler implements ResultHandler<Object> {
+
+  private final Object collection;
+  private final MetaObject metaObject;
+
+  public DefaultCollectionResultHandler(Configuration configuration, Class<?> collectionType) {
+    this.collection = configuration.getObjectFactory().create(collectionType);
+    this.metaObject = configuration.newMetaObject(collection);
+  }
+
+  @Override
+  public void handleResult(ResultContext<?> context) {
+    metaObject.add(context.getResultObject());
+  }
+
+  public Object getCollection() {
+    return collection;
+  }
+
+}
@@ -20,22 +20,32 @@ import java.sql.CallableStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Connection;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.ibatis.annotations.AutomapConstructor;
 import org.apache.ibatis.binding.MapperMethod.ParamMap;
 import org.apache.ibatis.cache.CacheKey;
 import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.cursor.defaults.DefaultCursor;
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
 import org.apache.ibatis.executor.ErrorContext;
 import org.apache.ibatis.executor.Executor;
 import org.apache.ibatis.executor.ExecutorException;
+import org.apache.ibatis.executor.loader.BatchResultLoader;
 import org.apache.ibatis.executor.loader.ResultLoader;
 import org.apache.ibatis.executor.loader.ResultLoaderMap;
 import org.apache.ibatis.executor.parameter.ParameterHandler;
@@ -44,6 +54,7 @@ import org.apache.ibatis.executor.result.DefaultResultHandler;
 import org.apache.ibatis.executor.result.ResultMapException;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.Discriminator;
+import org.apache.ibatis.mapping.Environment;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.mapping.ParameterMode;
@@ -51,6 +62,7 @@ import org.apache.ibatis.mapping.ResultMap;
 import org.apache.ibatis.mapping.ResultMapping;
 import org.apache.ibatis.reflection.MetaClass;
 import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.PropertyPath;
 import org.apache.ibatis.reflection.ReflectorFactory;
 import org.apache.ibatis.reflection.factory.ObjectFactory;
 import org.apache.ibatis.session.AutoMappingBehavior;
@@ -72,6 +84,12 @@ public class DefaultResultSetHandler implements ResultSetHandler {
 
   private static final Object DEFERRED = new Object();
 
+  // marks the threads that run parallel nested queries, their own nested queries run sequentially
+  private static final ThreadLocal<Boolean> NESTED_QUERY_WORKER = new ThreadLocal<>();
+
+  // nested queries of one result set running at the same time when neither the setting nor a pool bounds them
+  private static final int DEFAULT_PARALLEL_NESTED_QUERY_LIMIT = 4;
+
   private final Executor executor;
   private final Configuration configuration;
   private final MappedStatement mappedStatement;
@@ -92,9 +110,23 @@ public class DefaultResultSetHandler implements ResultSetHandler {
   private final Map<String, ResultMapping> nextResultMaps = new HashMap<>();
   private final Map<CacheKey, List<PendingRelation>> pendingRelations = new HashMap<>();
 
+  // nested queries loaded after all rows of a result set are mapped
+  private boolean rowsCollected;
+  private final Map<ResultMapping, BatchResultLoader> batchResultLoaders = new IdentityHashMap<>();
+
+  // parallel nested queries
+  private boolean collectNestedQueries;
+  private final List<PendingNestedQuery> pendingNestedQueries = new ArrayList<>();
+  private final Map<CacheKey, NestedQueryLoad> nestedQueryLoads = new HashMap<>();
+  private final Deque<NestedQueryLoad> runningNestedQueryLoads = new ArrayDeque<>();
+  private int parallelNestedQueryLimit;
+
   // Cached Automappings
   private final Map<String, List<UnMappedColumnAutoMapping>> autoMappingsCache = new HashMap<>();
 
+  // meta object rebound to each row of a simple result map, until something keeps a reference to it
+  private MetaObject rowMetaObject;
+
   // temporary marking flag that indicate using constructor mapping (use field to reduce memory usage)
   private boolean useConstructorMappings;
 
@@ -103,13 +135,64 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     public ResultMapping propertyMapping;
   }
 
+  private static class PendingNestedQuery {
+    public MetaObject metaObject;
+    public String property;
+    public NestedQueryLoad value;
+  }
+
+  private static class NestedQueryLoad implements Runnable {
+    private final ResultLoader resultLoader;
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+    NestedQueryLoad(ResultLoader resultLoader) {
+      this.resultLoader = resultLoader;
+    }
+
+    @Override
+    public void run() {
+      if (!started.compareAndSet(false, true)) {
+        return;
+      }
+      NESTED_QUERY_WORKER.set(Boolean.TRUE);
+      try {
+        result.complete(resultLoader.loadResult());
+      } catch (Throwable t) {
+        result.completeExceptionally(t);
+      } finally {
+        NESTED_QUERY_WORKER.remove();
+      }
+    }
+
+    // a load the executor has not started yet runs on the calling thread, so a busy executor never stalls the query
+    Object join() {
+      run();
+      return result.join();
+    }
+
+    void await() {
+      run();
+      result.handle((value, cause) -> null).join();
+    }
+
+    boolean isDone() {
+      return result.isDone();
+    }
+
+    void cancel() {
+      started.set(true);
+      result.cancel(false);
+    }
+  }
+
   private static class UnMappedColumnAutoMapping {
     private final String column;
-    private final String property;
+    private final PropertyPath property;
     private final TypeHandler<?> typeHandler;
     private final boolean primitive;
 
-    public UnMappedColumnAutoMapping(String column, String property, TypeHandler<?> typeHandler, boolean primitive) {
+    public UnMappedColumnAutoMapping(String column, PropertyPath property, TypeHandler<?> typeHandler, boolean primitive) {
       this.column = column;
       this.property = property;
       this.typeHandler = typeHandler;
@@ -298,13 +381,28 @@ public class DefaultResultSetHandler implements ResultSetHandler {
       } else {
         if (resultHandler == null) {
           DefaultResultHandler defaultResultHandler = new DefaultResultHandler(objectFactory);
+          // rows are only handed out after all of them are mapped, so their nested queries can be batched or run in parallel
+          rowsCollected = true;
+          collectNestedQueries = configuration.isParallelNestedQueryEnabled() && NESTED_QUERY_WORKER.get() == null
+              && isReadOnlySession();
+          if (collectNestedQueries) {
+            parallelNestedQueryLimit = getParallelNestedQueryLimit();
+          }
           handleRowValues(rsw, resultMap, defaultResultHandler, rowBounds, null);
+          loadPendingNestedQueries();
+          loadBatchedNestedQueries();
           multipleResults.add(defaultResultHandler.getResultList());
         } else {
           handleRowValues(rsw, resultMap, resultHandler, rowBounds, null);
         }
       }
     } finally {
+      rowsCollected = false;
+      batchResultLoaders.clear();
+      collectNestedQueries = false;
+      pendingNestedQueries.clear();
+      nestedQueryLoads.clear();
+      runningNestedQueryLoads.clear();
       // issue #228 (close resultsets)
       closeResultSet(rsw.getResultSet());
     }
@@ -396,7 +494,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     final ResultLoaderMap lazyLoader = new ResultLoaderMap();
     Object rowValue = createResultObject(rsw, resultMap, lazyLoader, columnPrefix);
     if (rowValue != null && !hasTypeHandlerForResultObject(rsw, resultMap.getType())) {
-      final MetaObject metaObject = configuration.newMetaObject(rowValue);
+      final MetaObject metaObject = rowMetaObjectFor(rowValue);
       boolean foundValues = this.useConstructorMappings;
       if (shouldApplyAutomaticMappings(resultMap, false)) {
         foundValues = applyAutomaticMappings(rsw, resultMap, metaObject, columnPrefix) || foundValues;
@@ -408,6 +506,21 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     return rowValue;
   }
 
+  private MetaObject rowMetaObjectFor(Object rowValue) {
+    if (rowMetaObject == null || !rowMetaObject.rebind(rowValue)) {
+      rowMetaObject = configuration.newMetaObject(rowValue);
+    }
+    return rowMetaObject;
+  }
+
+  private MetaObject keep(MetaObject metaObject) {
+    // the row's meta object is referenced after the row is mapped, so it can not be rebound any more
+    if (metaObject == rowMetaObject) {
+      rowMetaObject = null;
+    }
+    return metaObject;
+  }
+
   private boolean shouldApplyAutomaticMappings(ResultMap resultMap, boolean isNested) {
     if (resultMap.getAutoMapping() != null) {
       return resultMap.getAutoMapping();
@@ -452,7 +565,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
         }
         if (value != null || (configuration.isCallSettersOnNulls() && !metaObject.getSetterType(property).isPrimitive())) {
           // gcode issue #377, call setter on nulls (value is not 'found')
-          metaObject.setValue(property, value);
+          propertyMapping.getPropertyPath().setValue(metaObject.getOriginalObject(), value);
         }
       }
     }
@@ -498,7 +611,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
           final Class<?> propertyType = metaObject.getSetterType(property);
           if (typeHandlerRegistry.hasTypeHandler(propertyType, rsw.getJdbcType(columnName))) {
             final TypeHandler<?> typeHandler = rsw.getTypeHandler(propertyType, columnName);
-            autoMapping.add(new UnMappedColumnAutoMapping(columnName, property, typeHandler, propertyType.isPrimitive()));
+            autoMapping.add(new UnMappedColumnAutoMapping(columnName, configuration.getPropertyPath(property), typeHandler, propertyType.isPrimitive()));
           } else {
             configuration.getAutoMappingUnknownColumnBehavior()
                 .doAction(mappedStatement, columnName, property, propertyType);
@@ -524,7 +637,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
         }
         if (value != null || (configuration.isCallSettersOnNulls() && !mapping.primitive)) {
           // gcode issue #377, call setter on nulls (value is not 'found')
-          metaObject.setValue(mapping.property, value);
+          mapping.property.setValue(metaObject.getOriginalObject(), value);
         }
       }
     }
@@ -548,7 +661,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
   private void addPendingChildRelation(ResultSet rs, MetaObject metaResultObject, ResultMapping parentMapping) throws SQLException {
     CacheKey cacheKey = createKeyForMultipleResults(rs, parentMapping, parentMapping.getColumn(), parentMapping.getColumn());
     PendingRelation deferLoad = new PendingRelation();
-    deferLoad.metaObject = metaResultObject;
+    deferLoad.metaObject = keep(metaResultObject);
     deferLoad.propertyMapping = parentMapping;
     List<PendingRelation> relations = pendingRelations.computeIfAbsent(cacheKey, k -> new ArrayList<>());
     // issue #255
@@ -744,17 +857,29 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     final Class<?> nestedQueryParameterType = nestedQuery.getParameterMap().getType();
     final Object nestedQueryParameterObject = prepareParameterForNestedQuery(rs, propertyMapping, nestedQueryParameterType, columnPrefix);
     Object value = null;
-    if (nestedQueryParameterObject != null) {
+    if (nestedQueryParameterObject != null && propertyMapping.getBatchSize() > 0) {
+      if (propertyMapping.isLazy()) {
+        // the rows of this result set share one batch, loading one of them loads some of its siblings too
+        lazyLoader.addLoader(property, keep(metaResultObject),
+            getBatchResultLoader(propertyMapping, nestedQuery).addLazyLoad(nestedQueryParameterObject, metaResultObject));
+      } else {
+        addBatchedNestedQuery(keep(metaResultObject), propertyMapping, nestedQuery, nestedQueryParameterObject);
+      }
+      value = DEFERRED;
+    } else if (nestedQueryParameterObject != null) {
       final BoundSql nestedBoundSql = nestedQuery.getBoundSql(nestedQueryParameterObject);
       final CacheKey key = executor.createCacheKey(nestedQuery, nestedQueryParameterObject, RowBounds.DEFAULT, nestedBoundSql);
       final Class<?> targetType = propertyMapping.getJavaType();
       if (executor.isCached(nestedQuery, key)) {
-        executor.deferLoad(nestedQuery, metaResultObject, property, key, targetType);
+        executor.deferLoad(nestedQuery, keep(metaResultObject), property, key, targetType);
         value = DEFERRED;
       } else {
         final ResultLoader resultLoader = new ResultLoader(configuration, executor, nestedQuery, nestedQueryParameterObject, targetType, key, nestedBoundSql);
         if (propertyMapping.isLazy()) {
-          lazyLoader.addLoader(property, metaResultObject, resultLoader);
+          lazyLoader.addLoader(property, keep(metaResultObject), resultLoader);
+          value = DEFERRED;
+        } else if (collectNestedQueries) {
+          addPendingNestedQuery(keep(metaResultObject), property, key, resultLoader);
           value = DEFERRED;
         } else {
           value = resultLoader.loadResult();
@@ -764,6 +889,98 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     return value;
   }
 
+  private void addBatchedNestedQuery(MetaObject metaResultObject, ResultMapping propertyMapping, MappedStatement nestedQuery,
+      Object nestedQueryParameterObject) throws SQLException {
+    BatchResultLoader batchResultLoader = getBatchResultLoader(propertyMapping, nestedQuery);
+    batchResultLoader.addLoad(nestedQueryParameterObject, metaResultObject);
+    if (!rowsCollected) {
+      // rows are handed out one by one, so each row is a batch of its own
+      batchResultLoader.load();
+    }
+  }
+
+  private BatchResultLoader getBatchResultLoader(ResultMapping propertyMapping, MappedStatement nestedQuery) {
+    return batchResultLoaders.computeIfAbsent(propertyMapping, m -> new BatchResultLoader(configuration, executor, nestedQuery, m));
+  }
+
+  private void loadBatchedNestedQueries() throws SQLException {
+    for (Map.Entry<ResultMapping, BatchResultLoader> entry : batchResultLoaders.entrySet()) {
+      if (!entry.getKey().isLazy()) {
+        entry.getValue().load();
+      }
+    }
+  }
+
+  private void addPendingNestedQuery(MetaObject metaResultObject, String property, CacheKey key, ResultLoader resultLoader) {
+    PendingNestedQuery pendingNestedQuery = new PendingNestedQuery();
+    pendingNestedQuery.metaObject = metaResultObject;
+    pendingNestedQuery.property = property;
+    // rows referring to the same nested result share one load, like they would share the local cache
+    pendingNestedQuery.value = nestedQueryLoads.computeIfAbsent(key, k -> loadNestedQueryAsync(resultLoader));
+    pendingNestedQueries.add(pendingNestedQuery);
+  }
+
+  private NestedQueryLoad loadNestedQueryAsync(ResultLoader resultLoader) {
+    // each load holds a connection, so wait for the oldest one before going over the limit
+    runningNestedQueryLoads.removeIf(NestedQueryLoad::isDone);
+    while (runningNestedQueryLoads.size() >= parallelNestedQueryLimit) {
+      runningNestedQueryLoads.poll().await();
+    }
+    // the result loader opens an executor of its own when it is not called from the thread that created it
+    NestedQueryLoad load = new NestedQueryLoad(resultLoader);
+    try {
+      configuration.getAsyncExecutor().execute(load);
+    } catch (RejectedExecutionException e) {
+      // left to the calling thread
+    }
+    runningNestedQueryLoads.add(load);
+    return load;
+  }
+
+  private boolean isReadOnlySession() throws SQLException {
+    // nested queries run in transactions of their own, they must not miss uncommitted changes of this session
+    Connection connection = executor.getTransaction().getConnection();
+    return connection.getAutoCommit() || connection.isReadOnly();
+  }
+
+  private int getParallelNestedQueryLimit() {
+    Integer limit = configuration.getParallelNestedQueryLimit();
+    if (limit != null && limit > 0) {
+      return limit;
+    }
+    Environment environment = configuration.getEnvironment();
+    if (environment != null && environment.getDataSource() instanceof PooledDataSource) {
+      // leave the connection of the calling session to the pool
+      return Math.max(1, ((PooledDataSource) environment.getDataSource()).getPoolMaximumActiveConnections() - 1);
+    }
+    return DEFAULT_PARALLEL_NESTED_QUERY_LIMIT;
+  }
+
+  private void loadPendingNestedQueries() throws SQLException {
+    try {
+      for (PendingNestedQuery pendingNestedQuery : pendingNestedQueries) {
+        Object value = pendingNestedQuery.value.join();
+        MetaObject metaObject = pendingNestedQuery.metaObject;
+        String property = pendingNestedQuery.property;
+        if (value != null || (configuration.isCallSettersOnNulls() && !metaObject.getSetterType(property).isPrimitive())) {
+          metaObject.setValue(property, value);
+        }
+      }
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof SQLException) {
+        throw (SQLException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new ExecutorException("Error loading nested query.  Cause: " + cause, cause);
+    } finally {
+      for (PendingNestedQuery pendingNestedQuery : pendingNestedQueries) {
+        pendingNestedQuery.value.cancel();
+      }
+    }
+  }
+
   private Object prepareParameterForNestedQuery(ResultSet rs, ResultMapping resultMapping, Class<?> parameterType, String columnPrefix) throws SQLException {
     if (resultMapping.isCompositeResult()) {
       return prepareCompositeKeyParameter(rs, resultMapping, parameterType, columnPrefix);
@@ -1109,13 +1326,13 @@ public class DefaultResultSetHandler implements ResultSetHandler {
       final MetaObject targetMetaObject = configuration.newMetaObject(collectionProperty);
       targetMetaObject.add(rowValue);
     } else {
-      metaObject.setValue(resultMapping.getProperty(), rowValue);
+      resultMapping.getPropertyPath().setValue(metaObject.getOriginalObject(), rowValue);
     }
   }
 
   private Object instantiateCollectionPropertyIfAppropriate(ResultMapping resultMapping, MetaObject metaObject) {
     final String propertyName = resultMapping.getProperty();
-    Object propertyValue = metaObject.getValue(propertyName);
+    Object propertyValue = resultMapping.getPropertyPath().getValue(metaObject.getOriginalObject());
     if (propertyValue == null) {
       Class<?> type = resultMapping.getJavaType();
       if (type == null) {
@@ -1124,7 +1341,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
       try {
         if (objectFactory.isCollection(type)) {
           propertyValue = objectFactory.create(type);
-          metaObject.setValue(propertyName, propertyValue);
+          resultMapping.getPropertyPath().setValue(metaObject.getOriginalObject(), propertyValue);
           return propertyValue;
         }
       } catch (Exception e) {
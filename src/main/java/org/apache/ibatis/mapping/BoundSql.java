@@ -39,14 +39,15 @@ public class BoundSql {
   private final List<ParameterMapping> parameterMappings;
   private final Object parameterObject;
   private final Map<String, Object> additionalParameters;
-  private final MetaObject metaParameters;
+  private final Configuration configuration;
+  private MetaObject metaParameters;
 
   public BoundSql(Configuration configuration, String sql, List<ParameterMapping> parameterMappings, Object parameterObject) {
     this.sql = sql;
     this.parameterMappings = parameterMappings;
     this.parameterObject = parameterObject;
     this.additionalParameters = new HashMap<>();
-    this.metaParameters = configuration.newMetaObject(additionalParameters);
+    this.configuration = configuration;
   }
 
   public String getSql() {
@@ -62,15 +63,26 @@ public class BoundSql {
   }
 
   public boolean hasAdditionalParameter(String name) {
+    if (additionalParameters.isEmpty()) {
+      return false;
+    }
     String paramName = new PropertyTokenizer(name).getName();
     return additionalParameters.containsKey(paramName);
   }
 
   public void setAdditionalParameter(String name, Object value) {
-    metaParameters.setValue(name, value);
+    getMetaParameters().setValue(name, value);
   }
 
   public Object getAdditionalParameter(String name) {
-    return metaParameters.getValue(name);
+    return getMetaParameters().getValue(name);
+  }
+
+  private MetaObject getMetaParameters() {
+    // static statements usually have no additional parameters, so the wrapper is created on demand
+    if (metaParameters == null) {
+      metaParameters = configuration.newMetaObject(additionalParameters);
+    }
+    return metaParameters;
   }
 }
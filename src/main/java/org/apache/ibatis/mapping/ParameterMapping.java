@@ -17,6 +17,7 @@ package org.apache.ibatis.mapping;
 
 import java.sql.ResultSet;
 
+import org.apache.ibatis.reflection.PropertyPath;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.type.JdbcType;
 import org.apache.ibatis.type.TypeHandler;
@@ -38,6 +39,7 @@ public class ParameterMapping {
   private String resultMapId;
   private String jdbcTypeName;
   private String expression;
+  private PropertyPath propertyPath;
 
   private ParameterMapping() {
   }
@@ -135,6 +137,18 @@ public class ParameterMapping {
     return property;
   }
 
+  /**
+   * Used when setting parameters to the PreparedStatement.
+   * The path is parsed on first use and reused by every execution sharing this mapping.
+   * @return
+   */
+  public PropertyPath getPropertyPath() {
+    if (propertyPath == null && property != null) {
+      propertyPath = configuration.newPropertyPath(property);
+    }
+    return propertyPath;
+  }
+
   /**
    * Used for handling output of callable statements.
    * @return
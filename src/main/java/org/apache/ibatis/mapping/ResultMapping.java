@@ -20,6 +20,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
+import org.apache.ibatis.reflection.PropertyPath;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.type.JdbcType;
 import org.apache.ibatis.type.TypeHandler;
@@ -45,6 +46,8 @@ public class ResultMapping {
   private String resultSet;
   private String foreignColumn;
   private boolean lazy;
+  private int batchSize;
+  private PropertyPath propertyPath;
 
   ResultMapping() {
   }
@@ -132,6 +135,14 @@ public class ResultMapping {
       return this;
     }
 
+    /**
+     * @since 3.5.1
+     */
+    public Builder batchSize(int batchSize) {
+      resultMapping.batchSize = batchSize;
+      return this;
+    }
+
     public ResultMapping build() {
       // lock down collections
       resultMapping.flags = Collections.unmodifiableList(resultMapping.flags);
@@ -167,6 +178,15 @@ public class ResultMapping {
           throw new IllegalStateException("There should be the same number of columns and foreignColumns in property " + resultMapping.property);
         }
       }
+      if (resultMapping.batchSize > 0) {
+        // the names of a composite column identify the nested results of each row
+        if (resultMapping.nestedQueryId == null || resultMapping.composites.isEmpty()) {
+          throw new IllegalStateException("Batch loading needs a nested select and a composite column such as {id=id} in property " + resultMapping.property);
+        }
+        if (resultMapping.flags.contains(ResultFlag.CONSTRUCTOR)) {
+          throw new IllegalStateException("Constructor argument " + resultMapping.property + " cannot be loaded in batches");
+        }
+      }
     }
 
     private void resolveTypeHandler() {
@@ -187,6 +207,18 @@ public class ResultMapping {
     return property;
   }
 
+  /**
+   * Used when setting the mapped value on the result object.
+   * The path is parsed on first use and reused by every row mapped with this mapping.
+   * @return
+   */
+  public PropertyPath getPropertyPath() {
+    if (propertyPath == null && property != null) {
+      propertyPath = configuration.newPropertyPath(property);
+    }
+    return propertyPath;
+  }
+
   public String getColumn() {
     return column;
   }
@@ -251,6 +283,18 @@ public class ResultMapping {
     this.lazy = lazy;
   }
 
+  /**
+   * Returns the maximum number of rows whose nested query results are loaded with one execution of the nested query.
+   * When greater than zero, the nested query is called with the keys of several rows in a parameter named
+   * {@code list}, and its results are assigned to the rows by the properties named in the composite column.
+   *
+   * @return the batch size, or zero when the nested query is executed for each row
+   * @since 3.5.1
+   */
+  public int getBatchSize() {
+    return batchSize;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -298,6 +342,7 @@ public class ResultMapping {
     sb.append(", resultSet='").append(resultSet).append('\'');
     sb.append(", foreignColumn='").append(foreignColumn).append('\'');
     sb.append(", lazy=").append(lazy);
+    sb.append(", batchSize=").append(batchSize);
     sb.append('}');
     return sb.toString();
   }
@@ -30,7 +30,18 @@ public class GenericTokenParser {
     this.handler = handler;
   }
 
+  /**
+   * Creates a parser that can only be used to {@link #tokenize(String)} texts, {@link #parse(String)} throws an
+   * {@link IllegalStateException}.
+   */
+  public GenericTokenParser(String openToken, String closeToken) {
+    this(openToken, closeToken, null);
+  }
+
   public String parse(String text) {
+    if (handler == null) {
+      throw new IllegalStateException("This parser has no token handler, it can only tokenize texts.");
+    }
     if (text == null || text.isEmpty()) {
       return "";
     }
@@ -39,51 +50,106 @@ public class GenericTokenParser {
     if (start == -1) {
       return text;
     }
-    char[] src = text.toCharArray();
+    final StringBuilder builder = new StringBuilder(text.length());
+    scan(text, start, new SegmentSink() {
+      @Override
+      public void text(CharSequence source, int from, int to) {
+        builder.append(source, from, to);
+      }
+
+      @Override
+      public void token(String content) {
+        builder.append(handler.handleToken(content));
+      }
+    });
+    return builder.toString();
+  }
+
+  /**
+   * Splits the text into literal text and token contents once, so that the result can be kept and
+   * {@link TokenizedText#apply(TokenHandler) applied} to any number of handlers without scanning the text again.
+   */
+  public TokenizedText tokenize(String text) {
+    if (text == null || text.isEmpty()) {
+      return TokenizedText.EMPTY;
+    }
+    int start = text.indexOf(openToken);
+    if (start == -1) {
+      return TokenizedText.literal(text);
+    }
+    final TokenizedText.Builder builder = new TokenizedText.Builder(text.length());
+    scan(text, start, new SegmentSink() {
+      @Override
+      public void text(CharSequence source, int from, int to) {
+        builder.appendText(source, from, to);
+      }
+
+      @Override
+      public void token(String content) {
+        builder.appendToken(content);
+      }
+    });
+    return builder.build();
+  }
+
+  private void scan(String text, int firstOpenToken, SegmentSink sink) {
+    final int length = text.length();
+    int start = firstOpenToken;
     int offset = 0;
-    final StringBuilder builder = new StringBuilder();
     StringBuilder expression = null;
     while (start > -1) {
-      if (start > 0 && src[start - 1] == '\\') {
+      if (start > 0 && text.charAt(start - 1) == '\\') {
         // this open token is escaped. remove the backslash and continue.
-        builder.append(src, offset, start - offset - 1).append(openToken);
+        sink.text(text, offset, start - 1);
+        sink.text(openToken, 0, openToken.length());
         offset = start + openToken.length();
       } else {
         // found open token. let's search close token.
-        if (expression == null) {
-          expression = new StringBuilder();
-        } else {
-          expression.setLength(0);
-        }
-        builder.append(src, offset, start - offset);
+        sink.text(text, offset, start);
         offset = start + openToken.length();
+        boolean escaped = false;
+        String content = null;
         int end = text.indexOf(closeToken, offset);
         while (end > -1) {
-          if (end > offset && src[end - 1] == '\\') {
+          if (end > offset && text.charAt(end - 1) == '\\') {
             // this close token is escaped. remove the backslash and continue.
-            expression.append(src, offset, end - offset - 1).append(closeToken);
+            if (!escaped) {
+              if (expression == null) {
+                expression = new StringBuilder();
+              } else {
+                expression.setLength(0);
+              }
+              escaped = true;
+            }
+            expression.append(text, offset, end - 1).append(closeToken);
             offset = end + closeToken.length();
             end = text.indexOf(closeToken, offset);
           } else {
-            expression.append(src, offset, end - offset);
-            offset = end + closeToken.length();
+            content = escaped ? expression.append(text, offset, end).toString() : text.substring(offset, end);
             break;
           }
         }
         if (end == -1) {
           // close token was not found.
-          builder.append(src, start, src.length - start);
-          offset = src.length;
+          sink.text(text, start, length);
+          offset = length;
         } else {
-          builder.append(handler.handleToken(expression.toString()));
+          sink.token(content);
           offset = end + closeToken.length();
         }
       }
       start = text.indexOf(openToken, offset);
     }
-    if (offset < src.length) {
-      builder.append(src, offset, src.length - offset);
+    if (offset < length) {
+      sink.text(text, offset, length);
     }
-    return builder.toString();
+  }
+
+  private interface SegmentSink {
+
+    void text(CharSequence source, int from, int to);
+
+    void token(String content);
+
   }
 }
@@ -0,0 +1,121 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.parsing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A text split by {@link GenericTokenParser#tokenize(String)} into literal text and token contents.
+ * Escape characters are already resolved, and instances are immutable so they can be shared between threads.
+ */
+public final class TokenizedText {
+
+  static final TokenizedText EMPTY = new TokenizedText(new String[0], new boolean[0], 0);
+
+  private final String[] segments;
+  private final boolean[] tokens;
+  private final int literalLength;
+
+  private TokenizedText(String[] segments, boolean[] tokens, int literalLength) {
+    this.segments = segments;
+    this.tokens = tokens;
+    this.literalLength = literalLength;
+  }
+
+  static TokenizedText literal(String text) {
+    return new TokenizedText(new String[] { text }, new boolean[] { false }, text.length());
+  }
+
+  public int size() {
+    return segments.length;
+  }
+
+  /**
+   * Returns the literal text or, if {@link #isToken(int)}, the token content at the given position.
+   */
+  public String getSegment(int index) {
+    return segments[index];
+  }
+
+  public boolean isToken(int index) {
+    return tokens[index];
+  }
+
+  public boolean hasTokens() {
+    for (boolean token : tokens) {
+      if (token) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the text with every token replaced by the value returned from the handler,
+   * the same as {@link GenericTokenParser#parse(String)} would.
+   */
+  public String apply(TokenHandler handler) {
+    if (segments.length == 1 && !tokens[0]) {
+      return segments[0];
+    }
+    StringBuilder builder = new StringBuilder(literalLength + 16 * segments.length);
+    for (int i = 0; i < segments.length; i++) {
+      builder.append(tokens[i] ? handler.handleToken(segments[i]) : segments[i]);
+    }
+    return builder.toString();
+  }
+
+  static class Builder {
+    private final List<String> segments = new ArrayList<>();
+    private final List<Boolean> tokens = new ArrayList<>();
+    private final StringBuilder text;
+    private int literalLength;
+
+    Builder(int capacity) {
+      this.text = new StringBuilder(capacity);
+    }
+
+    void appendText(CharSequence source, int from, int to) {
+      text.append(source, from, to);
+    }
+
+    void appendToken(String content) {
+      flushText();
+      segments.add(content);
+      tokens.add(Boolean.TRUE);
+    }
+
+    private void flushText() {
+      if (text.length() > 0) {
+        segments.add(text.toString());
+        tokens.add(Boolean.FALSE);
+        literalLength += text.length();
+        text.setLength(0);
+      }
+    }
+
+    TokenizedText build() {
+      flushText();
+      boolean[] tokenFlags = new boolean[tokens.size()];
+      for (int i = 0; i < tokenFlags.length; i++) {
+        tokenFlags[i] = tokens.get(i);
+      }
+      return new TokenizedText(segments.toArray(new String[0]), tokenFlags, literalLength);
+    }
+  }
+
+}
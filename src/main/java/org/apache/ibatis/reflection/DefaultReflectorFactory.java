@@ -18,13 +18,25 @@ package org.apache.ibatis.reflection;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
+import org.apache.ibatis.reflection.invoker.InvokerFactory;
+import org.apache.ibatis.reflection.invoker.ReflectionInvokerFactory;
+
 public class DefaultReflectorFactory implements ReflectorFactory {
   private boolean classCacheEnabled = true;
+  private InvokerFactory invokerFactory = ReflectionInvokerFactory.INSTANCE;
+  private boolean metadataEnabled;
   private final ConcurrentMap<Class<?>, Reflector> reflectorMap = new ConcurrentHashMap<>();
 
   public DefaultReflectorFactory() {
   }
 
+  /**
+   * @since 3.5.1
+   */
+  public DefaultReflectorFactory(InvokerFactory invokerFactory) {
+    this.invokerFactory = invokerFactory;
+  }
+
   @Override
   public boolean isClassCacheEnabled() {
     return classCacheEnabled;
@@ -35,14 +47,54 @@ public class DefaultReflectorFactory implements ReflectorFactory {
     this.classCacheEnabled = classCacheEnabled;
   }
 
+  /**
+   * @since 3.5.1
+   */
+  public InvokerFactory getInvokerFactory() {
+    return invokerFactory;
+  }
+
+  /**
+   * Sets the factory of the invokers that access properties, e.g. a {@link org.apache.ibatis.reflection.invoker.LambdaInvokerFactory}.
+   * Reflectors that are already cached keep their invokers.
+   *
+   * @since 3.5.1
+   */
+  public void setInvokerFactory(InvokerFactory invokerFactory) {
+    this.invokerFactory = invokerFactory;
+  }
+
+  /**
+   * @since 3.5.1
+   */
+  public boolean isMetadataEnabled() {
+    return metadataEnabled;
+  }
+
+  /**
+   * Sets whether the {@link ReflectorMetadata} generated at build time is looked up for each class, instead of scanning
+   * its methods. It is disabled by default, as the lookup costs a resource lookup for every class, which misses for
+   * the classes without metadata.
+   *
+   * @since 3.5.1
+   */
+  public void setMetadataEnabled(boolean metadataEnabled) {
+    this.metadataEnabled = metadataEnabled;
+  }
+
   @Override
   public Reflector findForClass(Class<?> type) {
     if (classCacheEnabled) {
       // synchronized (type) removed see issue #461
-      return reflectorMap.computeIfAbsent(type, Reflector::new);
+      return reflectorMap.computeIfAbsent(type, this::newReflector);
     } else {
-      return new Reflector(type);
+      return newReflector(type);
     }
   }
 
+  private Reflector newReflector(Class<?> type) {
+    // members listed at build time are preferred to scanning the class
+    return new Reflector(type, invokerFactory, metadataEnabled ? ReflectorMetadata.load(type) : null);
+  }
+
 }
@@ -0,0 +1,211 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.apache.ibatis.binding.BindingException;
+import org.apache.ibatis.binding.MapperMethod.ParamMap;
+
+/**
+ * A {@link ParamMap} that reads the mapper method arguments directly from the argument array.
+ * <p>
+ * Parameter names are resolved to argument indexes once per method by {@link ParamNameResolver}, so building the
+ * parameter object for a call allocates neither a hash table nor its entries. Lookups ({@link #get(Object)},
+ * {@link #containsKey(Object)}) are served from the argument array; any other operation copies the arguments into the
+ * underlying {@link java.util.HashMap} first and delegates to it from then on.
+ */
+class IndexedParamMap extends ParamMap<Object> {
+
+  private static final long serialVersionUID = 1L;
+
+  private final transient Map<String, Integer> argIndexes;
+  private transient Object[] args;
+
+  IndexedParamMap(Map<String, Integer> argIndexes, Object[] args) {
+    this.argIndexes = argIndexes;
+    this.args = args;
+  }
+
+  private void inflate() {
+    if (args != null) {
+      Object[] values = args;
+      args = null;
+      for (Map.Entry<String, Integer> entry : argIndexes.entrySet()) {
+        super.put(entry.getKey(), values[entry.getValue()]);
+      }
+    }
+  }
+
+  @Override
+  public Object get(Object key) {
+    if (args == null) {
+      return super.get(key);
+    }
+    Integer index = argIndexes.get(key);
+    if (index == null) {
+      throw new BindingException("Parameter '" + key + "' not found. Available parameters are " + argIndexes.keySet());
+    }
+    return args[index];
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return args == null ? super.containsKey(key) : argIndexes.containsKey(key);
+  }
+
+  @Override
+  public int size() {
+    return args == null ? super.size() : argIndexes.size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  @Override
+  public Object put(String key, Object value) {
+    inflate();
+    return super.put(key, value);
+  }
+
+  @Override
+  public void putAll(Map<? extends String, ?> m) {
+    inflate();
+    super.putAll(m);
+  }
+
+  @Override
+  public Object remove(Object key) {
+    inflate();
+    return super.remove(key);
+  }
+
+  @Override
+  public void clear() {
+    inflate();
+    super.clear();
+  }
+
+  @Override
+  public boolean containsValue(Object value) {
+    inflate();
+    return super.containsValue(value);
+  }
+
+  @Override
+  public Set<String> keySet() {
+    inflate();
+    return super.keySet();
+  }
+
+  @Override
+  public Collection<Object> values() {
+    inflate();
+    return super.values();
+  }
+
+  @Override
+  public Set<Map.Entry<String, Object>> entrySet() {
+    inflate();
+    return super.entrySet();
+  }
+
+  @Override
+  public Object getOrDefault(Object key, Object defaultValue) {
+    inflate();
+    return super.getOrDefault(key, defaultValue);
+  }
+
+  @Override
+  public Object putIfAbsent(String key, Object value) {
+    inflate();
+    return super.putIfAbsent(key, value);
+  }
+
+  @Override
+  public boolean remove(Object key, Object value) {
+    inflate();
+    return super.remove(key, value);
+  }
+
+  @Override
+  public boolean replace(String key, Object oldValue, Object newValue) {
+    inflate();
+    return super.replace(key, oldValue, newValue);
+  }
+
+  @Override
+  public Object replace(String key, Object value) {
+    inflate();
+    return super.replace(key, value);
+  }
+
+  @Override
+  public Object computeIfAbsent(String key, Function<? super String, ?> mappingFunction) {
+    inflate();
+    return super.computeIfAbsent(key, mappingFunction);
+  }
+
+  @Override
+  public Object computeIfPresent(String key, BiFunction<? super String, ? super Object, ?> remappingFunction) {
+    inflate();
+    return super.computeIfPresent(key, remappingFunction);
+  }
+
+  @Override
+  public Object compute(String key, BiFunction<? super String, ? super Object, ?> remappingFunction) {
+    inflate();
+    return super.compute(key, remappingFunction);
+  }
+
+  @Override
+  public Object merge(String key, Object value, BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+    inflate();
+    return super.merge(key, value, remappingFunction);
+  }
+
+  @Override
+  public void forEach(BiConsumer<? super String, ? super Object> action) {
+    inflate();
+    super.forEach(action);
+  }
+
+  @Override
+  public void replaceAll(BiFunction<? super String, ? super Object, ?> function) {
+    inflate();
+    super.replaceAll(function);
+  }
+
+  @Override
+  public Object clone() {
+    inflate();
+    return super.clone();
+  }
+
+  private Object writeReplace() {
+    ParamMap<Object> map = new ParamMap<>();
+    map.putAll(this);
+    return map;
+  }
+
+}
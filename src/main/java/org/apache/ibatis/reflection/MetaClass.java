@@ -1,5 +1,5 @@
 /**
- *    Copyright 2009-2018 the original author or authors.
+ *    Copyright 2009-2019 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -16,14 +16,14 @@
 package org.apache.ibatis.reflection;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.Collection;
 
-import org.apache.ibatis.reflection.invoker.GetFieldInvoker;
 import org.apache.ibatis.reflection.invoker.Invoker;
-import org.apache.ibatis.reflection.invoker.MethodInvoker;
+import org.apache.ibatis.reflection.invoker.MemberInvoker;
 import org.apache.ibatis.reflection.property.PropertyTokenizer;
 
 /**
@@ -113,20 +113,14 @@ public class MetaClass {
   }
 
   private Type getGenericGetterType(String propertyName) {
-    try {
-      Invoker invoker = reflector.getGetInvoker(propertyName);
-      if (invoker instanceof MethodInvoker) {
-        Field _method = MethodInvoker.class.getDeclaredField("method");
-        _method.setAccessible(true);
-        Method method = (Method) _method.get(invoker);
-        return TypeParameterResolver.resolveReturnType(method, reflector.getType());
-      } else if (invoker instanceof GetFieldInvoker) {
-        Field _field = GetFieldInvoker.class.getDeclaredField("field");
-        _field.setAccessible(true);
-        Field field = (Field) _field.get(invoker);
-        return TypeParameterResolver.resolveFieldType(field, reflector.getType());
+    Invoker invoker = reflector.getGetInvoker(propertyName);
+    if (invoker instanceof MemberInvoker) {
+      Member member = ((MemberInvoker) invoker).getMember();
+      if (member instanceof Method) {
+        return TypeParameterResolver.resolveReturnType((Method) member, reflector.getType());
+      } else if (member instanceof Field) {
+        return TypeParameterResolver.resolveFieldType((Field) member, reflector.getType());
       }
-    } catch (NoSuchFieldException | IllegalAccessException ignored) {
     }
     return null;
   }
@@ -32,7 +32,7 @@ import org.apache.ibatis.reflection.wrapper.ObjectWrapperFactory;
  */
 public class MetaObject {
 
-  private final Object originalObject;
+  private Object originalObject;
   private final ObjectWrapper objectWrapper;
   private final ObjectFactory objectFactory;
   private final ObjectWrapperFactory objectWrapperFactory;
@@ -81,6 +81,26 @@ public class MetaObject {
     return originalObject;
   }
 
+  /**
+   * Points this meta object to another object of the same class, so that mapping many objects one after another
+   * does not need a new meta object and wrapper for each of them.
+   * Only meta objects of plain beans can be rebound. A meta object must not be rebound while something else still
+   * holds a reference to it.
+   *
+   * @param object the object to wrap from now on
+   * @return {@code true} if this meta object now wraps the object, {@code false} if a new one has to be created
+   * @since 3.5.1
+   */
+  public boolean rebind(Object object) {
+    if (object == null || object.getClass() != originalObject.getClass() || objectWrapper.getClass() != BeanWrapper.class
+        || objectWrapperFactory.hasWrapperFor(object)) {
+      return false;
+    }
+    ((BeanWrapper) objectWrapper).rebind(object);
+    originalObject = object;
+    return true;
+  }
+
   public String findProperty(String propName, boolean useCamelCaseMapping) {
     return objectWrapper.findProperty(propName, useCamelCaseMapping);
   }
@@ -18,6 +18,7 @@ package org.apache.ibatis.reflection;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.SortedMap;
 import java.util.TreeMap;
@@ -47,6 +48,12 @@ public class ParamNameResolver {
    */
   private final SortedMap<Integer, String> names;
 
+  /**
+   * The key is a parameter name (including the generic names param1, param2, ...) and the value is the index of the
+   * argument it refers to. Resolved once so that {@link #getNamedParams(Object[])} does not build a hash table per call.
+   */
+  private final Map<String, Integer> argIndexes;
+
   private boolean hasParamAnnotation;
 
   public ParamNameResolver(Configuration config, Method method) {
@@ -82,6 +89,23 @@ public class ParamNameResolver {
       map.put(paramIndex, name);
     }
     names = Collections.unmodifiableSortedMap(map);
+    argIndexes = Collections.unmodifiableMap(resolveArgIndexes(names));
+  }
+
+  private static Map<String, Integer> resolveArgIndexes(SortedMap<Integer, String> names) {
+    final Map<String, Integer> argIndexes = new HashMap<>();
+    int i = 0;
+    for (Map.Entry<Integer, String> entry : names.entrySet()) {
+      argIndexes.put(entry.getValue(), entry.getKey());
+      // add generic param names (param1, param2, ...)
+      final String genericParamName = GENERIC_NAME_PREFIX + String.valueOf(i + 1);
+      // ensure not to overwrite parameter named with @Param
+      if (!names.containsValue(genericParamName)) {
+        argIndexes.put(genericParamName, entry.getKey());
+      }
+      i++;
+    }
+    return argIndexes;
   }
 
   private String getActualParamName(Method method, int paramIndex) {
@@ -105,6 +129,7 @@ public class ParamNameResolver {
    * Multiple parameters are named using the naming rule.
    * In addition to the default names, this method also adds the generic names (param1, param2,
    * ...).
+   * The returned {@link ParamMap} reads the values from {@code args}, which must not be modified afterwards.
    * </p>
    */
   public Object getNamedParams(Object[] args) {
@@ -114,19 +139,7 @@ public class ParamNameResolver {
     } else if (!hasParamAnnotation && paramCount == 1) {
       return args[names.firstKey()];
     } else {
-      final Map<String, Object> param = new ParamMap<>();
-      int i = 0;
-      for (Map.Entry<Integer, String> entry : names.entrySet()) {
-        param.put(entry.getValue(), args[entry.getKey()]);
-        // add generic param names (param1, param2, ...)
-        final String genericParamName = GENERIC_NAME_PREFIX + String.valueOf(i + 1);
-        // ensure not to overwrite parameter named with @Param
-        if (!names.containsValue(genericParamName)) {
-          param.put(genericParamName, args[entry.getKey()]);
-        }
-        i++;
-      }
-      return param;
+      return new IndexedParamMap(argIndexes, args);
     }
   }
 }
@@ -0,0 +1,204 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.reflection.factory.ObjectFactory;
+import org.apache.ibatis.reflection.invoker.Invoker;
+import org.apache.ibatis.reflection.property.PropertyTokenizer;
+import org.apache.ibatis.reflection.wrapper.ObjectWrapper;
+import org.apache.ibatis.reflection.wrapper.ObjectWrapperFactory;
+
+/**
+ * A property expression (e.g. {@code user.address.city}) that is tokenized once and can then be evaluated
+ * repeatedly without creating a {@link MetaObject} or a {@link PropertyTokenizer} per access.
+ * <p>
+ * The getter and setter resolved for each segment are cached for the last class they were applied to.
+ * Indexed segments (e.g. {@code items[0]}), collections, objects handled by a custom {@link ObjectWrapperFactory}
+ * and missing intermediate values are delegated to {@link MetaObject}, so the result is always the same as
+ * {@link MetaObject#getValue(String)} and {@link MetaObject#setValue(String, Object)}.
+ */
+public class PropertyPath {
+
+  private static final Object[] NO_ARGUMENTS = new Object[0];
+
+  private final String expression;
+  private final Segment[] segments;
+  private final ObjectFactory objectFactory;
+  private final ObjectWrapperFactory objectWrapperFactory;
+  private final ReflectorFactory reflectorFactory;
+
+  public PropertyPath(String expression, ObjectFactory objectFactory, ObjectWrapperFactory objectWrapperFactory,
+      ReflectorFactory reflectorFactory) {
+    this.expression = expression;
+    this.objectFactory = objectFactory;
+    this.objectWrapperFactory = objectWrapperFactory;
+    this.reflectorFactory = reflectorFactory;
+    List<Segment> list = new ArrayList<>();
+    PropertyTokenizer prop = new PropertyTokenizer(expression);
+    String remaining = expression;
+    while (true) {
+      list.add(new Segment(prop.getName(), prop.getIndex() != null, remaining));
+      if (!prop.hasNext()) {
+        break;
+      }
+      remaining = prop.getChildren();
+      prop = prop.next();
+    }
+    this.segments = list.toArray(new Segment[0]);
+  }
+
+  public String getExpression() {
+    return expression;
+  }
+
+  /**
+   * Returns the name of the first segment, without index.
+   */
+  public String getRootName() {
+    return segments[0].name;
+  }
+
+  public Object getValue(Object object) {
+    Object value = object;
+    for (Segment segment : segments) {
+      if (value == null) {
+        return null;
+      }
+      if (segment.indexed || requiresMetaObject(value)) {
+        return MetaObject.forObject(value, objectFactory, objectWrapperFactory, reflectorFactory).getValue(segment.remaining);
+      }
+      if (value instanceof Map) {
+        value = ((Map<?, ?>) value).get(segment.name);
+      } else {
+        value = getBeanProperty(segment, value);
+      }
+    }
+    return value;
+  }
+
+  public void setValue(Object object, Object value) {
+    Object current = object;
+    for (int i = 0; i < segments.length - 1; i++) {
+      Segment segment = segments[i];
+      Object child = null;
+      if (!segment.indexed && !requiresMetaObject(current)) {
+        child = current instanceof Map ? ((Map<?, ?>) current).get(segment.name) : getBeanProperty(segment, current);
+      }
+      if (child == null) {
+        // MetaObject decides whether the missing child is instantiated
+        MetaObject.forObject(current, objectFactory, objectWrapperFactory, reflectorFactory).setValue(segment.remaining, value);
+        return;
+      }
+      current = child;
+    }
+    Segment segment = segments[segments.length - 1];
+    if (segment.indexed || requiresMetaObject(current)) {
+      MetaObject.forObject(current, objectFactory, objectWrapperFactory, reflectorFactory).setValue(segment.remaining, value);
+    } else if (current instanceof Map) {
+      @SuppressWarnings("unchecked")
+      Map<String, Object> map = (Map<String, Object>) current;
+      map.put(segment.name, value);
+    } else {
+      setBeanProperty(segment, current, value);
+    }
+  }
+
+  private boolean requiresMetaObject(Object value) {
+    return value instanceof ObjectWrapper || objectWrapperFactory.hasWrapperFor(value) || value instanceof Collection;
+  }
+
+  private Object getBeanProperty(Segment segment, Object object) {
+    try {
+      Invoker method = segment.getGetInvoker(object.getClass(), reflectorFactory);
+      try {
+        return method.invoke(object, NO_ARGUMENTS);
+      } catch (Throwable t) {
+        throw ExceptionUtil.unwrapThrowable(t);
+      }
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new ReflectionException("Could not get property '" + segment.name + "' from " + object.getClass() + ".  Cause: " + t.toString(), t);
+    }
+  }
+
+  private void setBeanProperty(Segment segment, Object object, Object value) {
+    try {
+      Invoker method = segment.getSetInvoker(object.getClass(), reflectorFactory);
+      Object[] params = {value};
+      try {
+        method.invoke(object, params);
+      } catch (Throwable t) {
+        throw ExceptionUtil.unwrapThrowable(t);
+      }
+    } catch (Throwable t) {
+      throw new ReflectionException("Could not set property '" + segment.name + "' of '" + object.getClass() + "' with value '" + value + "' Cause: " + t.toString(), t);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return expression;
+  }
+
+  private static final class Segment {
+    private final String name;
+    private final boolean indexed;
+    private final String remaining;
+    private volatile ResolvedInvoker getter;
+    private volatile ResolvedInvoker setter;
+
+    private Segment(String name, boolean indexed, String remaining) {
+      this.name = name;
+      this.indexed = indexed;
+      this.remaining = remaining;
+    }
+
+    private Invoker getGetInvoker(Class<?> type, ReflectorFactory reflectorFactory) {
+      ResolvedInvoker current = getter;
+      if (current == null || current.type != type) {
+        current = new ResolvedInvoker(type, reflectorFactory.findForClass(type).getGetInvoker(name));
+        getter = current;
+      }
+      return current.invoker;
+    }
+
+    private Invoker getSetInvoker(Class<?> type, ReflectorFactory reflectorFactory) {
+      ResolvedInvoker current = setter;
+      if (current == null || current.type != type) {
+        current = new ResolvedInvoker(type, reflectorFactory.findForClass(type).getSetInvoker(name));
+        setter = current;
+      }
+      return current.invoker;
+    }
+  }
+
+  private static final class ResolvedInvoker {
+    private final Class<?> type;
+    private final Invoker invoker;
+
+    private ResolvedInvoker(Class<?> type, Invoker invoker) {
+      this.type = type;
+      this.invoker = invoker;
+    }
+  }
+
+}
@@ -32,10 +32,9 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import org.apache.ibatis.reflection.invoker.GetFieldInvoker;
 import org.apache.ibatis.reflection.invoker.Invoker;
-import org.apache.ibatis.reflection.invoker.MethodInvoker;
-import org.apache.ibatis.reflection.invoker.SetFieldInvoker;
+import org.apache.ibatis.reflection.invoker.InvokerFactory;
+import org.apache.ibatis.reflection.invoker.ReflectionInvokerFactory;
 import org.apache.ibatis.reflection.property.PropertyNamer;
 
 /**
@@ -47,6 +46,7 @@ import org.apache.ibatis.reflection.property.PropertyNamer;
 public class Reflector {
 
   private final Class<?> type;
+  private final InvokerFactory invokerFactory;
   private final String[] readablePropertyNames;
   private final String[] writablePropertyNames;
   private final Map<String, Invoker> setMethods = new HashMap<>();
@@ -58,11 +58,34 @@ public class Reflector {
   private Map<String, String> caseInsensitivePropertyMap = new HashMap<>();
 
   public Reflector(Class<?> clazz) {
+    this(clazz, ReflectionInvokerFactory.INSTANCE);
+  }
+
+  /**
+   * @since 3.5.1
+   */
+  public Reflector(Class<?> clazz, InvokerFactory invokerFactory) {
+    this(clazz, invokerFactory, null);
+  }
+
+  /**
+   * @param metadata the members listed at build time, or {@code null} to scan the class
+   * @since 3.5.1
+   */
+  public Reflector(Class<?> clazz, InvokerFactory invokerFactory, ReflectorMetadata metadata) {
     type = clazz;
+    this.invokerFactory = invokerFactory;
     addDefaultConstructor(clazz);
-    addGetMethods(clazz);
-    addSetMethods(clazz);
-    addFields(clazz);
+    if (metadata != null) {
+      addGetMethods(metadata.getMethods());
+      addSetMethods(metadata.getMethods());
+      addFields(metadata.getFields());
+    } else {
+      Method[] methods = getClassMethods(clazz);
+      addGetMethods(methods);
+      addSetMethods(methods);
+      addFields(clazz);
+    }
     readablePropertyNames = getMethods.keySet().toArray(new String[getMethods.keySet().size()]);
     writablePropertyNames = setMethods.keySet().toArray(new String[setMethods.keySet().size()]);
     for (String propName : readablePropertyNames) {
@@ -82,9 +105,8 @@ public class Reflector {
     }
   }
 
-  private void addGetMethods(Class<?> cls) {
+  private void addGetMethods(Method[] methods) {
     Map<String, List<Method>> conflictingGetters = new HashMap<>();
-    Method[] methods = getClassMethods(cls);
     for (Method method : methods) {
       if (method.getParameterTypes().length > 0) {
         continue;
@@ -136,15 +158,14 @@ public class Reflector {
 
   private void addGetMethod(String name, Method method) {
     if (isValidPropertyName(name)) {
-      getMethods.put(name, new MethodInvoker(method));
+      getMethods.put(name, invokerFactory.newGetterInvoker(method));
       Type returnType = TypeParameterResolver.resolveReturnType(method, type);
       getTypes.put(name, typeToClass(returnType));
     }
   }
 
-  private void addSetMethods(Class<?> cls) {
+  private void addSetMethods(Method[] methods) {
     Map<String, List<Method>> conflictingSetters = new HashMap<>();
-    Method[] methods = getClassMethods(cls);
     for (Method method : methods) {
       String name = method.getName();
       if (name.startsWith("set") && name.length() > 3) {
@@ -211,7 +232,7 @@ public class Reflector {
 
   private void addSetMethod(String name, Method method) {
     if (isValidPropertyName(name)) {
-      setMethods.put(name, new MethodInvoker(method));
+      setMethods.put(name, invokerFactory.newSetterInvoker(method));
       Type[] paramTypes = TypeParameterResolver.resolveParamTypes(method, type);
       setTypes.put(name, typeToClass(paramTypes[0]));
     }
@@ -239,7 +260,13 @@ public class Reflector {
   }
 
   private void addFields(Class<?> clazz) {
-    Field[] fields = clazz.getDeclaredFields();
+    addFields(clazz.getDeclaredFields());
+    if (clazz.getSuperclass() != null) {
+      addFields(clazz.getSuperclass());
+    }
+  }
+
+  private void addFields(Field[] fields) {
     for (Field field : fields) {
       if (!setMethods.containsKey(field.getName())) {
         // issue #379 - removed the check for final because JDK 1.5 allows
@@ -254,14 +281,11 @@ public class Reflector {
         addGetField(field);
       }
     }
-    if (clazz.getSuperclass() != null) {
-      addFields(clazz.getSuperclass());
-    }
   }
 
   private void addSetField(Field field) {
     if (isValidPropertyName(field.getName())) {
-      setMethods.put(field.getName(), new SetFieldInvoker(field));
+      setMethods.put(field.getName(), invokerFactory.newSetFieldInvoker(field));
       Type fieldType = TypeParameterResolver.resolveFieldType(field, type);
       setTypes.put(field.getName(), typeToClass(fieldType));
     }
@@ -269,7 +293,7 @@ public class Reflector {
 
   private void addGetField(Field field) {
     if (isValidPropertyName(field.getName())) {
-      getMethods.put(field.getName(), new GetFieldInvoker(field));
+      getMethods.put(field.getName(), invokerFactory.newGetFieldInvoker(field));
       Type fieldType = TypeParameterResolver.resolveFieldType(field, type);
       getTypes.put(field.getName(), typeToClass(fieldType));
     }
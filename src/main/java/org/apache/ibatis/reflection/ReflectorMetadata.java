@@ -0,0 +1,312 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * The getter, setter and field candidates of a class, listed at build time by the
+ * {@link org.apache.ibatis.reflection.processing.ReflectorMetadataProcessor}, so that a {@link Reflector} can look
+ * them up directly instead of scanning all the methods of the class hierarchy.
+ * <p>
+ * The metadata is read from the resource {@code META-INF/mybatis/reflector/<binary class name>}, with one member per
+ * line, e.g. {@code method com.example.User#setName(java.lang.String)} or {@code field com.example.User#name}.
+ * Getter and setter conflicts are still resolved at runtime, so a class is reflected the same way with or without
+ * metadata.
+ * <p>
+ * The resource also holds a stamp of the class, its superclasses and interfaces, e.g. {@code stamp 5f3a9c21}: a hash
+ * of the name and descriptor of every method and field they declare, synthetic ones and JDK classes excluded. The
+ * stamp is computed from the class files at runtime, without reflecting the members. When the classes were compiled
+ * again without refreshing the metadata, a member added, removed or changed makes the stamp differ and the class is
+ * scanned instead.
+ *
+ * @since 3.5.1
+ */
+public final class ReflectorMetadata {
+
+  public static final String RESOURCE_PREFIX = "META-INF/mybatis/reflector/";
+  public static final String METHOD_PREFIX = "method ";
+  public static final String FIELD_PREFIX = "field ";
+  public static final String STAMP_PREFIX = "stamp ";
+
+  private static final int ACC_STATIC = 0x0008;
+  private static final int ACC_SYNTHETIC = 0x1000;
+
+  private static final Map<String, Class<?>> PRIMITIVE_TYPES = new HashMap<>();
+
+  static {
+    for (Class<?> type : new Class<?>[] { boolean.class, byte.class, char.class, short.class, int.class, long.class,
+        float.class, double.class }) {
+      PRIMITIVE_TYPES.put(type.getName(), type);
+    }
+  }
+
+  private final Method[] methods;
+  private final Field[] fields;
+
+  private ReflectorMetadata(List<Method> methods, List<Field> fields) {
+    this.methods = methods.toArray(new Method[methods.size()]);
+    this.fields = fields.toArray(new Field[fields.size()]);
+  }
+
+  /**
+   * Loads the metadata generated for the class.
+   * <p>
+   * Every class with a class loader costs one {@link ClassLoader#getResourceAsStream(String)} lookup, which misses for
+   * the classes without metadata, and the metadata found costs reading the class files of the hierarchy to check the
+   * stamp. The {@link DefaultReflectorFactory} looks each class up once only, when its metadata is enabled.
+   *
+   * @param type the class to reflect
+   * @return the metadata, or {@code null} if there is none or it does not match the class any more
+   */
+  public static ReflectorMetadata load(Class<?> type) {
+    ClassLoader classLoader = type.getClassLoader();
+    if (classLoader == null) {
+      return null;
+    }
+    InputStream input = classLoader.getResourceAsStream(RESOURCE_PREFIX + type.getName());
+    if (input == null) {
+      return null;
+    }
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+      List<Method> methods = new ArrayList<>();
+      List<Field> fields = new ArrayList<>();
+      String stamp = null;
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.startsWith(STAMP_PREFIX)) {
+          stamp = line.substring(STAMP_PREFIX.length());
+        } else if (line.startsWith(METHOD_PREFIX)) {
+          methods.add(parseMethod(line.substring(METHOD_PREFIX.length()), classLoader));
+        } else if (line.startsWith(FIELD_PREFIX)) {
+          fields.add(parseField(line.substring(FIELD_PREFIX.length()), classLoader));
+        }
+      }
+      if (stamp == null || !stamp.equals(stamp(type))) {
+        // the class changed since the metadata was generated
+        return null;
+      }
+      return new ReflectorMetadata(methods, fields);
+    } catch (IOException | ReflectiveOperationException | LinkageError | RuntimeException e) {
+      // unreadable or stale, the class is scanned instead
+      return null;
+    }
+  }
+
+  /**
+   * Hashes the member entries of a class hierarchy: for each type, its binary name followed by the sorted entries of
+   * the methods and fields it declares, as built by {@link #memberEntry(boolean, String, String, boolean)}.
+   *
+   * @param entries the type names and member entries
+   * @return the stamp written to, and compared with, the {@code stamp} line of the metadata
+   */
+  public static String stamp(List<String> entries) {
+    CRC32 crc = new CRC32();
+    for (String entry : entries) {
+      crc.update(entry.getBytes(StandardCharsets.UTF_8));
+      crc.update('\n');
+    }
+    return Long.toHexString(crc.getValue());
+  }
+
+  /**
+   * Describes a method or field for the {@link #stamp(List)}, e.g. {@code method setName (Ljava/lang/String;)V}.
+   *
+   * @param method whether the member is a method
+   * @param name the member name
+   * @param descriptor the JVM descriptor of the member
+   * @param isStatic whether the member is static
+   * @return the member entry
+   */
+  public static String memberEntry(boolean method, String name, String descriptor, boolean isStatic) {
+    return (method ? METHOD_PREFIX : FIELD_PREFIX) + name + " " + descriptor + (isStatic ? " static" : "");
+  }
+
+  /**
+   * Returns whether the members of the type are left out of the stamp. The JDK classes are, they are not read from
+   * the class path and may differ between the build and the runtime.
+   */
+  public static boolean isUnstamped(String binaryName) {
+    return binaryName.startsWith("java.");
+  }
+
+  /**
+   * Computes the stamp of the class, its superclasses and interfaces from their class files, which is cheaper than
+   * reflecting all their members.
+   */
+  private static String stamp(Class<?> type) throws IOException {
+    Set<Class<?>> types = new LinkedHashSet<>();
+    for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+      addHierarchy(types, current);
+    }
+    List<String> entries = new ArrayList<>();
+    for (Class<?> current : types) {
+      if (!isUnstamped(current.getName())) {
+        entries.add(current.getName());
+        entries.addAll(readMemberEntries(current));
+      }
+    }
+    return stamp(entries);
+  }
+
+  private static void addHierarchy(Set<Class<?>> types, Class<?> type) {
+    if (types.add(type)) {
+      for (Class<?> anInterface : type.getInterfaces()) {
+        addHierarchy(types, anInterface);
+      }
+    }
+  }
+
+  /**
+   * Reads the non synthetic methods and fields declared in the class file, constructors and initializers excluded.
+   */
+  private static List<String> readMemberEntries(Class<?> type) throws IOException {
+    ClassLoader classLoader = type.getClassLoader();
+    InputStream input = classLoader == null ? null
+        : classLoader.getResourceAsStream(type.getName().replace('.', '/') + ".class");
+    if (input == null) {
+      throw new IOException("Could not find the class file of " + type.getName());
+    }
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(input))) {
+      if (in.readInt() != 0xCAFEBABE) {
+        throw new IOException("Invalid class file of " + type.getName());
+      }
+      skip(in, 4);
+      int constantCount = in.readUnsignedShort();
+      String[] constants = new String[constantCount];
+      for (int i = 1; i < constantCount; i++) {
+        int tag = in.readUnsignedByte();
+        switch (tag) {
+          case 1: // Utf8
+            constants[i] = in.readUTF();
+            break;
+          case 7: case 8: case 16: case 19: case 20: // Class, String, MethodType, Module, Package
+            skip(in, 2);
+            break;
+          case 15: // MethodHandle
+            skip(in, 3);
+            break;
+          case 3: case 4: case 9: case 10: case 11: case 12: case 17: case 18: // Integer, Float, refs, NameAndType, Dynamic
+            skip(in, 4);
+            break;
+          case 5: case 6: // Long and Double take two entries
+            skip(in, 8);
+            i++;
+            break;
+          default:
+            throw new IOException("Unknown constant pool tag " + tag + " in the class file of " + type.getName());
+        }
+      }
+      // access flags, this class and super class
+      skip(in, 6);
+      skip(in, 2 * in.readUnsignedShort());
+      List<String> entries = new ArrayList<>();
+      readMemberEntries(in, constants, false, entries);
+      readMemberEntries(in, constants, true, entries);
+      Collections.sort(entries);
+      return entries;
+    }
+  }
+
+  private static void readMemberEntries(DataInputStream in, String[] constants, boolean methods, List<String> entries)
+      throws IOException {
+    int memberCount = in.readUnsignedShort();
+    for (int i = 0; i < memberCount; i++) {
+      int accessFlags = in.readUnsignedShort();
+      String name = constants[in.readUnsignedShort()];
+      String descriptor = constants[in.readUnsignedShort()];
+      int attributeCount = in.readUnsignedShort();
+      for (int j = 0; j < attributeCount; j++) {
+        skip(in, 2);
+        skip(in, in.readInt());
+      }
+      if ((accessFlags & ACC_SYNTHETIC) == 0 && !name.startsWith("<")) {
+        entries.add(memberEntry(methods, name, descriptor, (accessFlags & ACC_STATIC) != 0));
+      }
+    }
+  }
+
+  private static void skip(DataInputStream in, int length) throws IOException {
+    int remaining = length;
+    while (remaining > 0) {
+      int skipped = in.skipBytes(remaining);
+      if (skipped <= 0) {
+        throw new EOFException();
+      }
+      remaining -= skipped;
+    }
+  }
+
+  private static Method parseMethod(String member, ClassLoader classLoader) throws ReflectiveOperationException {
+    int hash = member.indexOf('#');
+    int open = member.indexOf('(', hash);
+    Class<?> declaringClass = classForName(member.substring(0, hash), classLoader);
+    String parameters = member.substring(open + 1, member.length() - 1);
+    List<Class<?>> parameterTypes = new ArrayList<>();
+    if (!parameters.isEmpty()) {
+      for (String parameter : parameters.split(",")) {
+        parameterTypes.add(classForName(parameter, classLoader));
+      }
+    }
+    return declaringClass.getDeclaredMethod(member.substring(hash + 1, open), parameterTypes.toArray(new Class[parameterTypes.size()]));
+  }
+
+  private static Field parseField(String member, ClassLoader classLoader) throws ReflectiveOperationException {
+    int hash = member.indexOf('#');
+    return classForName(member.substring(0, hash), classLoader).getDeclaredField(member.substring(hash + 1));
+  }
+
+  private static Class<?> classForName(String name, ClassLoader classLoader) throws ClassNotFoundException {
+    if (name.endsWith("[]")) {
+      return Array.newInstance(classForName(name.substring(0, name.length() - 2), classLoader), 0).getClass();
+    }
+    Class<?> primitiveType = PRIMITIVE_TYPES.get(name);
+    return primitiveType != null ? primitiveType : Class.forName(name, false, classLoader);
+  }
+
+  /**
+   * Returns the getter and setter candidates, overridden methods excluded.
+   */
+  public Method[] getMethods() {
+    return methods;
+  }
+
+  /**
+   * Returns the fields of the class and its superclasses, the fields of subclasses first.
+   */
+  public Field[] getFields() {
+    return fields;
+  }
+
+}
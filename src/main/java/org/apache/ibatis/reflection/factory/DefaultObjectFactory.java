@@ -29,6 +29,7 @@ import java.util.Properties;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.apache.ibatis.reflection.ReflectionException;
@@ -41,6 +42,8 @@ public class DefaultObjectFactory implements ObjectFactory, Serializable {
 
   private static final long serialVersionUID = -8855120656740914948L;
 
+  private transient Map<Class<?>, Map<List<Class<?>>, Constructor<?>>> constructorCache;
+
   @Override
   public <T> T create(Class<T> type) {
     return create(type, null, null);
@@ -61,31 +64,10 @@ public class DefaultObjectFactory implements ObjectFactory, Serializable {
 
   private  <T> T instantiateClass(Class<T> type, List<Class<?>> constructorArgTypes, List<Object> constructorArgs) {
     try {
-      Constructor<T> constructor;
       if (constructorArgTypes == null || constructorArgs == null) {
-        constructor = type.getDeclaredConstructor();
-        try {
-          return constructor.newInstance();
-        } catch (IllegalAccessException e) {
-          if (Reflector.canControlMemberAccessible()) {
-            constructor.setAccessible(true);
-            return constructor.newInstance();
-          } else {
-            throw e;
-          }
-        }
-      }
-      constructor = type.getDeclaredConstructor(constructorArgTypes.toArray(new Class[constructorArgTypes.size()]));
-      try {
-        return constructor.newInstance(constructorArgs.toArray(new Object[constructorArgs.size()]));
-      } catch (IllegalAccessException e) {
-        if (Reflector.canControlMemberAccessible()) {
-          constructor.setAccessible(true);
-          return constructor.newInstance(constructorArgs.toArray(new Object[constructorArgs.size()]));
-        } else {
-          throw e;
-        }
+        return newInstance(getConstructor(type, Collections.emptyList()));
       }
+      return newInstance(getConstructor(type, constructorArgTypes), constructorArgs.toArray(new Object[constructorArgs.size()]));
     } catch (Exception e) {
       String argTypes = Optional.ofNullable(constructorArgTypes).orElseGet(Collections::emptyList)
           .stream().map(Class::getSimpleName).collect(Collectors.joining(","));
@@ -95,6 +77,41 @@ public class DefaultObjectFactory implements ObjectFactory, Serializable {
     }
   }
 
+  @SuppressWarnings("unchecked")
+  private <T> Constructor<T> getConstructor(Class<T> type, List<Class<?>> constructorArgTypes) throws NoSuchMethodException {
+    // looked up once per class and signature, the accessible flag set on a cached constructor sticks as well
+    Map<List<Class<?>>, Constructor<?>> constructors = getConstructorCache().computeIfAbsent(type, k -> new ConcurrentHashMap<>());
+    Constructor<?> constructor = constructors.get(constructorArgTypes);
+    if (constructor == null) {
+      constructor = type.getDeclaredConstructor(constructorArgTypes.toArray(new Class[constructorArgTypes.size()]));
+      constructors.put(new ArrayList<>(constructorArgTypes), constructor);
+    }
+    return (Constructor<T>) constructor;
+  }
+
+  private <T> T newInstance(Constructor<T> constructor, Object... args) throws Exception {
+    try {
+      return constructor.newInstance(args);
+    } catch (IllegalAccessException e) {
+      if (Reflector.canControlMemberAccessible()) {
+        constructor.setAccessible(true);
+        return constructor.newInstance(args);
+      } else {
+        throw e;
+      }
+    }
+  }
+
+  private Map<Class<?>, Map<List<Class<?>>, Constructor<?>>> getConstructorCache() {
+    // constructors are not serializable, so the cache is created again after deserialization
+    Map<Class<?>, Map<List<Class<?>>, Constructor<?>>> cache = constructorCache;
+    if (cache == null) {
+      cache = new ConcurrentHashMap<>();
+      constructorCache = cache;
+    }
+    return cache;
+  }
+
   protected Class<?> resolveInterface(Class<?> type) {
     Class<?> classToCreate;
     if (type == List.class || type == Collection.class || type == Iterable.class) {
@@ -0,0 +1,294 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.invoker;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.apache.ibatis.lang.UsesJava8;
+import org.apache.ibatis.reflection.Reflector;
+
+/**
+ * Creates invokers that the JIT compiler can inline. Getters and setters are bound to {@link Function} and
+ * {@link BiConsumer} instances generated by {@link LambdaMetafactory}, fields are accessed through
+ * {@link MethodHandle}s.
+ * <p>
+ * Private members are only reachable on Java 9 and later, through {@code MethodHandles.privateLookupIn}. Members that
+ * cannot be bound this way, e.g. of classes that are not visible to MyBatis or of modules that are not open to it,
+ * fall back to the invokers of {@link ReflectionInvokerFactory}.
+ *
+ * @since 3.5.1
+ */
+public class LambdaInvokerFactory implements InvokerFactory {
+
+  private static final Method privateLookupInMethod;
+  private static final Method getModuleMethod;
+  private static final Method isOpenMethod;
+
+  static {
+    Method method;
+    Method getModule;
+    Method isOpen;
+    try {
+      method = MethodHandles.class.getMethod("privateLookupIn", Class.class, Lookup.class);
+      getModule = Class.class.getMethod("getModule");
+      isOpen = getModule.getReturnType().getMethod("isOpen", String.class, getModule.getReturnType());
+    } catch (NoSuchMethodException e) {
+      method = null;
+      getModule = null;
+      isOpen = null;
+    }
+    privateLookupInMethod = method;
+    getModuleMethod = getModule;
+    isOpenMethod = isOpen;
+  }
+
+  @Override
+  public Invoker newGetterInvoker(Method getter) {
+    try {
+      Class<?> declaringClass = getter.getDeclaringClass();
+      Lookup lookup = lookupFor(getter, declaringClass);
+      if (lookup != null && !Modifier.isStatic(getter.getModifiers())) {
+        @SuppressWarnings("unchecked")
+        Function<Object, Object> function = (Function<Object, Object>) LambdaMetafactory.metafactory(lookup, "apply",
+            MethodType.methodType(Function.class), MethodType.methodType(Object.class, Object.class),
+            lookup.unreflect(getter), MethodType.methodType(wrap(getter.getReturnType()), declaringClass))
+            .getTarget().invokeWithArguments();
+        return new GetterInvoker(function, getter);
+      }
+    } catch (Throwable t) {
+      // fall back to reflection
+    }
+    return ReflectionInvokerFactory.INSTANCE.newGetterInvoker(getter);
+  }
+
+  @Override
+  public Invoker newSetterInvoker(Method setter) {
+    try {
+      Class<?> declaringClass = setter.getDeclaringClass();
+      Lookup lookup = lookupFor(setter, declaringClass);
+      if (lookup != null && !Modifier.isStatic(setter.getModifiers())) {
+        Class<?> type = setter.getParameterTypes()[0];
+        @SuppressWarnings("unchecked")
+        BiConsumer<Object, Object> consumer = (BiConsumer<Object, Object>) LambdaMetafactory.metafactory(lookup, "accept",
+            MethodType.methodType(BiConsumer.class), MethodType.methodType(void.class, Object.class, Object.class),
+            lookup.unreflect(setter), MethodType.methodType(void.class, declaringClass, wrap(type)))
+            .getTarget().invokeWithArguments();
+        return new SetterInvoker(consumer, setter);
+      }
+    } catch (Throwable t) {
+      // fall back to reflection
+    }
+    return ReflectionInvokerFactory.INSTANCE.newSetterInvoker(setter);
+  }
+
+  @Override
+  public Invoker newGetFieldInvoker(Field field) {
+    try {
+      Lookup lookup = lookupFor(field, field.getDeclaringClass());
+      if (lookup != null && !Modifier.isStatic(field.getModifiers())) {
+        MethodHandle handle = lookup.unreflectGetter(field).asType(MethodType.methodType(Object.class, Object.class));
+        return new GetFieldHandleInvoker(handle, field);
+      }
+    } catch (Throwable t) {
+      // fall back to reflection
+    }
+    return ReflectionInvokerFactory.INSTANCE.newGetFieldInvoker(field);
+  }
+
+  @Override
+  public Invoker newSetFieldInvoker(Field field) {
+    try {
+      Lookup lookup = lookupFor(field, field.getDeclaringClass());
+      if (lookup != null && !Modifier.isStatic(field.getModifiers()) && !Modifier.isFinal(field.getModifiers())) {
+        MethodHandle handle = lookup.unreflectSetter(field).asType(MethodType.methodType(void.class, Object.class, Object.class));
+        return new SetFieldHandleInvoker(handle, field);
+      }
+    } catch (Throwable t) {
+      // fall back to reflection
+    }
+    return ReflectionInvokerFactory.INSTANCE.newSetFieldInvoker(field);
+  }
+
+  private static Lookup lookupFor(java.lang.reflect.Member member, Class<?> declaringClass) throws Exception {
+    if (privateLookupInMethod != null) {
+      if (!Reflector.canControlMemberAccessible() || !isOpenToMyBatis(declaringClass)) {
+        // e.g. JDK classes, whose private lookup would be an illegal reflective access
+        return null;
+      }
+      // the lambda is defined in the declaring class, so any member of it can be bound
+      return (Lookup) privateLookupInMethod.invoke(null, declaringClass, MethodHandles.lookup());
+    }
+    // Java 8 defines the lambda next to this class, which can only bind public members of classes it can see
+    if (Modifier.isPublic(member.getModifiers()) && Modifier.isPublic(declaringClass.getModifiers())
+        && isVisible(declaringClass)) {
+      return MethodHandles.lookup();
+    }
+    return null;
+  }
+
+  private static boolean isOpenToMyBatis(Class<?> type) throws Exception {
+    String name = type.getName();
+    int lastDot = name.lastIndexOf('.');
+    String packageName = lastDot == -1 ? "" : name.substring(0, lastDot);
+    return (Boolean) isOpenMethod.invoke(getModuleMethod.invoke(type), packageName,
+        getModuleMethod.invoke(LambdaInvokerFactory.class));
+  }
+
+  private static boolean isVisible(Class<?> type) {
+    try {
+      return Class.forName(type.getName(), false, LambdaInvokerFactory.class.getClassLoader()) == type;
+    } catch (ClassNotFoundException e) {
+      return false;
+    }
+  }
+
+  private static Class<?> wrap(Class<?> type) {
+    return MethodType.methodType(type).wrap().returnType();
+  }
+
+  private static final class GetterInvoker implements MemberInvoker {
+    private final Function<Object, Object> function;
+    private final Method getter;
+
+    GetterInvoker(Function<Object, Object> function, Method getter) {
+      this.function = function;
+      this.getter = getter;
+    }
+
+    @Override
+    public Object invoke(Object target, Object[] args) throws InvocationTargetException {
+      try {
+        return function.apply(target);
+      } catch (Throwable t) {
+        throw new InvocationTargetException(t);
+      }
+    }
+
+    @Override
+    public Class<?> getType() {
+      return getter.getReturnType();
+    }
+
+    @Override
+    public Method getMember() {
+      return getter;
+    }
+  }
+
+  private static final class SetterInvoker implements MemberInvoker {
+    private final BiConsumer<Object, Object> consumer;
+    private final Method setter;
+    private final Class<?> type;
+
+    SetterInvoker(BiConsumer<Object, Object> consumer, Method setter) {
+      this.consumer = consumer;
+      this.setter = setter;
+      this.type = setter.getParameterTypes()[0];
+    }
+
+    @Override
+    public Object invoke(Object target, Object[] args) throws InvocationTargetException {
+      try {
+        consumer.accept(target, args[0]);
+      } catch (Throwable t) {
+        throw new InvocationTargetException(t);
+      }
+      return null;
+    }
+
+    @Override
+    public Class<?> getType() {
+      return type;
+    }
+
+    @Override
+    public Method getMember() {
+      return setter;
+    }
+  }
+
+  private static final class GetFieldHandleInvoker implements MemberInvoker {
+    private final MethodHandle handle;
+    private final Field field;
+
+    GetFieldHandleInvoker(MethodHandle handle, Field field) {
+      this.handle = handle;
+      this.field = field;
+    }
+
+    @Override
+    @UsesJava8 // invokeExact is signature polymorphic, the Java 8 signature check cannot resolve it
+    public Object invoke(Object target, Object[] args) throws InvocationTargetException {
+      try {
+        return (Object) handle.invokeExact(target);
+      } catch (Throwable t) {
+        throw new InvocationTargetException(t);
+      }
+    }
+
+    @Override
+    public Class<?> getType() {
+      return field.getType();
+    }
+
+    @Override
+    public Field getMember() {
+      return field;
+    }
+  }
+
+  private static final class SetFieldHandleInvoker implements MemberInvoker {
+    private final MethodHandle handle;
+    private final Field field;
+
+    SetFieldHandleInvoker(MethodHandle handle, Field field) {
+      this.handle = handle;
+      this.field = field;
+    }
+
+    @Override
+    @UsesJava8
+    public Object invoke(Object target, Object[] args) throws InvocationTargetException {
+      try {
+        handle.invokeExact(target, args[0]);
+      } catch (Throwable t) {
+        throw new InvocationTargetException(t);
+      }
+      return null;
+    }
+
+    @Override
+    public Class<?> getType() {
+      return field.getType();
+    }
+
+    @Override
+    public Field getMember() {
+      return field;
+    }
+  }
+
+}
@@ -1,5 +1,5 @@
 /**
- *    Copyright 2009-2018 the original author or authors.
+ *    Copyright 2009-2019 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -23,7 +23,7 @@ import org.apache.ibatis.reflection.Reflector;
 /**
  * @author Clinton Begin
  */
-public class MethodInvoker implements Invoker {
+public class MethodInvoker implements MemberInvoker {
 
   private final Class<?> type;
   private final Method method;
@@ -56,4 +56,9 @@ public class MethodInvoker implements Invoker {
   public Class<?> getType() {
     return type;
   }
+
+  @Override
+  public Method getMember() {
+    return method;
+  }
 }
@@ -0,0 +1,50 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.invoker;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * Creates invokers that call methods and access fields through core reflection. This is the default.
+ *
+ * @since 3.5.1
+ */
+public class ReflectionInvokerFactory implements InvokerFactory {
+
+  public static final ReflectionInvokerFactory INSTANCE = new ReflectionInvokerFactory();
+
+  @Override
+  public Invoker newGetterInvoker(Method getter) {
+    return new MethodInvoker(getter);
+  }
+
+  @Override
+  public Invoker newSetterInvoker(Method setter) {
+    return new MethodInvoker(setter);
+  }
+
+  @Override
+  public Invoker newGetFieldInvoker(Field field) {
+    return new GetFieldInvoker(field);
+  }
+
+  @Override
+  public Invoker newSetFieldInvoker(Field field) {
+    return new SetFieldInvoker(field);
+  }
+
+}
@@ -1,5 +1,5 @@
 /**
- *    Copyright 2009-2018 the original author or authors.
+ *    Copyright 2009-2019 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -22,7 +22,7 @@ import org.apache.ibatis.reflection.Reflector;
 /**
  * @author Clinton Begin
  */
-public class SetFieldInvoker implements Invoker {
+public class SetFieldInvoker implements MemberInvoker {
   private final Field field;
 
   public SetFieldInvoker(Field field) {
@@ -48,4 +48,9 @@ public class SetFieldInvoker implements Invoker {
   public Class<?> getType() {
     return field.getType();
   }
+
+  @Override
+  public Field getMember() {
+    return field;
+  }
 }
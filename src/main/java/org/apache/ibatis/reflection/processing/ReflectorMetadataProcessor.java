@@ -0,0 +1,303 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.processing;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import org.apache.ibatis.reflection.ReflectorMetadata;
+
+/**
+ * Annotation processor that writes the {@link ReflectorMetadata} of the classes annotated with
+ * {@link GenerateReflectorMetadata}, and of the classes listed in the {@code mybatis.reflector.types} option
+ * (comma separated), to the class output.
+ * <p>
+ * The processor is not registered as a service, add it to the annotation processor path of the build explicitly. The
+ * metadata is only looked up by a {@link org.apache.ibatis.reflection.DefaultReflectorFactory} whose metadata is
+ * enabled.
+ *
+ * @since 3.5.1
+ */
+@SupportedAnnotationTypes("*")
+@SupportedOptions(ReflectorMetadataProcessor.TYPES_OPTION)
+public class ReflectorMetadataProcessor extends AbstractProcessor {
+
+  public static final String TYPES_OPTION = "mybatis.reflector.types";
+
+  private final Set<String> processedTypes = new HashSet<>();
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    if (roundEnv.processingOver()) {
+      return false;
+    }
+    Set<TypeElement> types = new LinkedHashSet<>();
+    for (Element element : roundEnv.getElementsAnnotatedWith(GenerateReflectorMetadata.class)) {
+      types.add((TypeElement) element);
+    }
+    String typeNames = processingEnv.getOptions().get(TYPES_OPTION);
+    if (typeNames != null) {
+      for (String typeName : typeNames.split(",")) {
+        TypeElement type = typeName.trim().isEmpty() ? null : processingEnv.getElementUtils().getTypeElement(typeName.trim());
+        if (type != null) {
+          types.add(type);
+        }
+      }
+    }
+    for (TypeElement type : types) {
+      if (processedTypes.add(binaryName(type))) {
+        writeMetadata(type);
+      }
+    }
+    // other processors may handle the same annotations
+    return false;
+  }
+
+  private void writeMetadata(TypeElement type) {
+    String binaryName = binaryName(type);
+    try {
+      FileObject resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+          ReflectorMetadata.RESOURCE_PREFIX + binaryName, type);
+      try (Writer writer = resource.openWriter()) {
+        writer.write("# generated by " + getClass().getName() + "\n");
+        writer.write(ReflectorMetadata.STAMP_PREFIX + getStamp(type) + "\n");
+        for (ExecutableElement method : getAccessorMethods(type)) {
+          writer.write(ReflectorMetadata.METHOD_PREFIX + toString(method) + "\n");
+        }
+        for (VariableElement field : getFields(type)) {
+          writer.write(ReflectorMetadata.FIELD_PREFIX + binaryName((TypeElement) field.getEnclosingElement()) + "#"
+              + field.getSimpleName() + "\n");
+        }
+      }
+    } catch (IOException e) {
+      processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+          "Could not write the reflector metadata of " + binaryName + ". Cause: " + e, type);
+    }
+  }
+
+  /**
+   * Hashes the methods and fields declared by the class, its superclasses and interfaces, as the metadata is checked
+   * at runtime from their class files. The element model leaves out synthetic members, constructors and initializers,
+   * like the runtime check does.
+   */
+  private String getStamp(TypeElement type) {
+    Set<TypeElement> types = new LinkedHashSet<>();
+    TypeElement current = type;
+    while (current != null && !current.getQualifiedName().contentEquals(Object.class.getName())) {
+      addHierarchy(types, current);
+      current = asTypeElement(current.getSuperclass());
+    }
+    List<String> entries = new ArrayList<>();
+    for (TypeElement stamped : types) {
+      String binaryName = binaryName(stamped);
+      if (ReflectorMetadata.isUnstamped(binaryName)) {
+        continue;
+      }
+      List<String> members = new ArrayList<>();
+      for (ExecutableElement method : ElementFilter.methodsIn(stamped.getEnclosedElements())) {
+        StringBuilder descriptor = new StringBuilder("(");
+        for (VariableElement parameter : method.getParameters()) {
+          descriptor.append(descriptor(parameter.asType()));
+        }
+        descriptor.append(')').append(descriptor(method.getReturnType()));
+        members.add(ReflectorMetadata.memberEntry(true, method.getSimpleName().toString(), descriptor.toString(),
+            method.getModifiers().contains(Modifier.STATIC)));
+      }
+      for (VariableElement field : ElementFilter.fieldsIn(stamped.getEnclosedElements())) {
+        members.add(ReflectorMetadata.memberEntry(false, field.getSimpleName().toString(), descriptor(field.asType()),
+            field.getModifiers().contains(Modifier.STATIC)));
+      }
+      Collections.sort(members);
+      entries.add(binaryName);
+      entries.addAll(members);
+    }
+    return ReflectorMetadata.stamp(entries);
+  }
+
+  private void addHierarchy(Set<TypeElement> types, TypeElement type) {
+    if (types.add(type)) {
+      for (TypeMirror anInterface : type.getInterfaces()) {
+        TypeElement interfaceElement = asTypeElement(anInterface);
+        if (interfaceElement != null) {
+          addHierarchy(types, interfaceElement);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the JVM descriptor of the erased type, e.g. {@code [Ljava/lang/String;}.
+   */
+  private String descriptor(TypeMirror type) {
+    TypeMirror erasure = processingEnv.getTypeUtils().erasure(type);
+    switch (erasure.getKind()) {
+      case BOOLEAN:
+        return "Z";
+      case BYTE:
+        return "B";
+      case CHAR:
+        return "C";
+      case SHORT:
+        return "S";
+      case INT:
+        return "I";
+      case LONG:
+        return "J";
+      case FLOAT:
+        return "F";
+      case DOUBLE:
+        return "D";
+      case VOID:
+        return "V";
+      case ARRAY:
+        return "[" + descriptor(((ArrayType) erasure).getComponentType());
+      default:
+        return "L" + binaryName((TypeElement) ((DeclaredType) erasure).asElement()).replace('.', '/') + ";";
+    }
+  }
+
+  /**
+   * Mirrors the way a Reflector collects the methods of a class: the methods declared by the class and its
+   * superclasses, and the public methods of their interfaces, the first one of each signature only.
+   */
+  private List<ExecutableElement> getAccessorMethods(TypeElement type) {
+    Map<String, ExecutableElement> uniqueMethods = new LinkedHashMap<>();
+    TypeElement current = type;
+    while (current != null && !current.getQualifiedName().contentEquals(Object.class.getName())) {
+      addUniqueMethods(uniqueMethods, ElementFilter.methodsIn(current.getEnclosedElements()));
+      for (TypeMirror anInterface : current.getInterfaces()) {
+        addUniqueMethods(uniqueMethods, getInterfaceMethods(asTypeElement(anInterface), true));
+      }
+      current = asTypeElement(current.getSuperclass());
+    }
+    List<ExecutableElement> methods = new ArrayList<>();
+    for (ExecutableElement method : uniqueMethods.values()) {
+      String name = method.getSimpleName().toString();
+      int parameterCount = method.getParameters().size();
+      if ((parameterCount == 0 && ((name.startsWith("get") && name.length() > 3) || (name.startsWith("is") && name.length() > 2)))
+          || (parameterCount == 1 && name.startsWith("set") && name.length() > 3)) {
+        methods.add(method);
+      }
+    }
+    return methods;
+  }
+
+  private List<ExecutableElement> getInterfaceMethods(TypeElement anInterface, boolean includeStatic) {
+    List<ExecutableElement> methods = new ArrayList<>();
+    if (anInterface == null) {
+      return methods;
+    }
+    for (ExecutableElement method : ElementFilter.methodsIn(anInterface.getEnclosedElements())) {
+      if (!method.getModifiers().contains(Modifier.PRIVATE)
+          && (includeStatic || !method.getModifiers().contains(Modifier.STATIC))) {
+        methods.add(method);
+      }
+    }
+    for (TypeMirror superInterface : anInterface.getInterfaces()) {
+      methods.addAll(getInterfaceMethods(asTypeElement(superInterface), false));
+    }
+    return methods;
+  }
+
+  private void addUniqueMethods(Map<String, ExecutableElement> uniqueMethods, List<ExecutableElement> methods) {
+    for (ExecutableElement method : methods) {
+      StringBuilder signature = new StringBuilder();
+      signature.append(typeName(method.getReturnType())).append('#').append(method.getSimpleName());
+      for (VariableElement parameter : method.getParameters()) {
+        signature.append(',').append(typeName(parameter.asType()));
+      }
+      uniqueMethods.putIfAbsent(signature.toString(), method);
+    }
+  }
+
+  private List<VariableElement> getFields(TypeElement type) {
+    List<VariableElement> fields = new ArrayList<>();
+    TypeElement current = type;
+    while (current != null) {
+      fields.addAll(ElementFilter.fieldsIn(current.getEnclosedElements()));
+      current = asTypeElement(current.getSuperclass());
+    }
+    return fields;
+  }
+
+  private String toString(ExecutableElement method) {
+    StringBuilder sb = new StringBuilder();
+    sb.append(binaryName((TypeElement) method.getEnclosingElement())).append('#').append(method.getSimpleName()).append('(');
+    List<? extends VariableElement> parameters = method.getParameters();
+    for (int i = 0; i < parameters.size(); i++) {
+      if (i > 0) {
+        sb.append(',');
+      }
+      sb.append(typeName(parameters.get(i).asType()));
+    }
+    return sb.append(')').toString();
+  }
+
+  /**
+   * Returns the name of the erased type, as {@link Class#getName()} does except for arrays, which end with {@code []}.
+   */
+  private String typeName(TypeMirror type) {
+    TypeMirror erasure = processingEnv.getTypeUtils().erasure(type);
+    if (erasure.getKind() == TypeKind.ARRAY) {
+      return typeName(((ArrayType) erasure).getComponentType()) + "[]";
+    } else if (erasure.getKind() == TypeKind.DECLARED) {
+      return binaryName((TypeElement) ((DeclaredType) erasure).asElement());
+    } else {
+      return erasure.toString();
+    }
+  }
+
+  private TypeElement asTypeElement(TypeMirror type) {
+    return type.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) type).asElement() : null;
+  }
+
+  private String binaryName(TypeElement type) {
+    return processingEnv.getElementUtils().getBinaryName(type).toString();
+  }
+
+}
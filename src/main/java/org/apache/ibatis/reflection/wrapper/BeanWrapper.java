@@ -31,7 +31,7 @@ import org.apache.ibatis.reflection.property.PropertyTokenizer;
  */
 public class BeanWrapper extends BaseWrapper {
 
-  private final Object object;
+  private Object object;
   private final MetaClass metaClass;
 
   public BeanWrapper(MetaObject metaObject, Object object) {
@@ -40,6 +40,18 @@ public class BeanWrapper extends BaseWrapper {
     this.metaClass = MetaClass.forClass(object.getClass(), metaObject.getReflectorFactory());
   }
 
+  /**
+   * Points this wrapper to another instance of the wrapped class, keeping the resolved {@link MetaClass}.
+   *
+   * @since 3.5.1
+   */
+  public void rebind(Object object) {
+    if (object.getClass() != this.object.getClass()) {
+      throw new ReflectionException("Cannot rebind a wrapper of " + this.object.getClass() + " to " + object.getClass());
+    }
+    this.object = object;
+  }
+
   @Override
   public Object get(PropertyTokenizer prop) {
     if (prop.getIndex() != null) {
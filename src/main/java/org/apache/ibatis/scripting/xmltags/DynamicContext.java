@@ -23,7 +23,6 @@ import ognl.OgnlContext;
 import ognl.OgnlRuntime;
 import ognl.PropertyAccessor;
 
-import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.session.Configuration;
 
 /**
@@ -44,10 +43,9 @@ public class DynamicContext {
 
   public DynamicContext(Configuration configuration, Object parameterObject) {
     if (parameterObject != null && !(parameterObject instanceof Map)) {
-      MetaObject metaObject = configuration.newMetaObject(parameterObject);
-      bindings = new ContextMap(metaObject);
+      bindings = new ContextMap(configuration, parameterObject);
     } else {
-      bindings = new ContextMap(null);
+      bindings = new ContextMap(null, null);
     }
     bindings.put(PARAMETER_OBJECT_KEY, parameterObject);
     bindings.put(DATABASE_ID_KEY, configuration.getDatabaseId());
@@ -76,10 +74,12 @@ public class DynamicContext {
   static class ContextMap extends HashMap<String, Object> {
     private static final long serialVersionUID = 2977601501966151582L;
 
-    private MetaObject parameterMetaObject;
+    private final Configuration configuration;
+    private final Object parameterObject;
 
-    public ContextMap(MetaObject parameterMetaObject) {
-      this.parameterMetaObject = parameterMetaObject;
+    public ContextMap(Configuration configuration, Object parameterObject) {
+      this.configuration = configuration;
+      this.parameterObject = parameterObject;
     }
 
     @Override
@@ -89,9 +89,9 @@ public class DynamicContext {
         return super.get(strKey);
       }
 
-      if (parameterMetaObject != null) {
+      if (parameterObject != null) {
         // issue #61 do not modify the context when reading
-        return parameterMetaObject.getValue(strKey);
+        return configuration.getPropertyPath(strKey).getValue(parameterObject);
       }
 
       return null;
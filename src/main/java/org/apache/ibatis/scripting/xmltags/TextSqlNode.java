@@ -19,6 +19,7 @@ import java.util.regex.Pattern;
 
 import org.apache.ibatis.parsing.GenericTokenParser;
 import org.apache.ibatis.parsing.TokenHandler;
+import org.apache.ibatis.parsing.TokenizedText;
 import org.apache.ibatis.scripting.ScriptingException;
 import org.apache.ibatis.type.SimpleTypeRegistry;
 
@@ -26,36 +27,29 @@ import org.apache.ibatis.type.SimpleTypeRegistry;
  * @author Clinton Begin
  */
 public class TextSqlNode implements SqlNode {
-  private final String text;
   private final Pattern injectionFilter;
+  // split into literal text and ${} expressions once, only the expressions are evaluated per execution
+  private final TokenizedText tokenizedText;
 
   public TextSqlNode(String text) {
     this(text, null);
   }
 
   public TextSqlNode(String text, Pattern injectionFilter) {
-    this.text = text;
     this.injectionFilter = injectionFilter;
+    this.tokenizedText = new GenericTokenParser("${", "}").tokenize(text);
   }
 
   public boolean isDynamic() {
-    DynamicCheckerTokenParser checker = new DynamicCheckerTokenParser();
-    GenericTokenParser parser = createParser(checker);
-    parser.parse(text);
-    return checker.isDynamic();
+    return tokenizedText.hasTokens();
   }
 
   @Override
   public boolean apply(DynamicContext context) {
-    GenericTokenParser parser = createParser(new BindingTokenParser(context, injectionFilter));
-    context.appendSql(parser.parse(text));
+    context.appendSql(tokenizedText.apply(new BindingTokenParser(context, injectionFilter)));
     return true;
   }
 
-  private GenericTokenParser createParser(TokenHandler handler) {
-    return new GenericTokenParser("${", "}", handler);
-  }
-
   private static class BindingTokenParser implements TokenHandler {
 
     private DynamicContext context;
@@ -87,23 +81,4 @@ public class TextSqlNode implements SqlNode {
     }
   }
 
-  private static class DynamicCheckerTokenParser implements TokenHandler {
-
-    private boolean isDynamic;
-
-    public DynamicCheckerTokenParser() {
-      // Prevent Synthetic Access
-    }
-
-    public boolean isDynamic() {
-      return isDynamic;
-    }
-
-    @Override
-    public String handleToken(String content) {
-      this.isDynamic = true;
-      return null;
-    }
-  }
-
 }
@@ -0,0 +1,51 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.session;
+
+/**
+ * Specifies which executions of {@link ExecutorType#BATCH} share a JDBC batch.
+ *
+ * @since 3.5.1
+ */
+public enum BatchGrouping {
+
+  /**
+   * Only consecutive executions of the same statement with the same SQL share a batch (Default).
+   */
+  CONSECUTIVE,
+
+  /**
+   * An INSERT joins the batch of an earlier execution of the same statement with the same SQL as long as only inserts
+   * have been batched since then.
+   * Batches are executed in the order they were opened, so inserts into a parent table and a child table end up in
+   * two batches with the parent rows first, provided the first parent row is batched before the first child row.
+   * <p>
+   * This reorders the inserts: an insert runs before the inserts of other statements batched ahead of it. Use this
+   * only when the inserts of a statement do not depend on the inserts of other statements batched in between (e.g.
+   * through triggers, unique keys or foreign keys pointing the other way).
+   * UPDATE and DELETE executions, and inserts following another kind of statement, start new batches as
+   * {@link #CONSECUTIVE} does, so they are never reordered.
+   */
+  COMMAND_TYPE,
+
+  /**
+   * An execution always joins the batch of an earlier execution of the same statement with the same SQL.
+   * Batches are executed in the order they were opened.
+   * Use this only when the batched statements do not depend on the order in which they are executed.
+   */
+  STATEMENT
+
+}
@@ -0,0 +1,44 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.session;
+
+/**
+ * Specifies what {@link ExecutorType#BATCH} keeps of the batches it executed on its own because a batch flush threshold
+ * was reached, until they are returned by the next {@link SqlSession#flushStatements()}.
+ *
+ * @since 3.5.1
+ * @see Configuration#setBatchFlushStatementRows(Integer)
+ * @see Configuration#setBatchFlushPendingRows(Integer)
+ * @see Configuration#setBatchFlushPendingBytes(Long)
+ */
+public enum BatchResultRetention {
+
+  /**
+   * Keeps the batch results including all parameter objects (Default).
+   */
+  FULL,
+
+  /**
+   * Keeps the statement, the sql and the update counts of each batch but drops the parameter objects.
+   */
+  UPDATE_COUNTS,
+
+  /**
+   * Keeps nothing.
+   */
+  NONE
+
+}
@@ -25,6 +25,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 
 import org.apache.ibatis.binding.MapperRegistry;
@@ -77,6 +81,7 @@ import org.apache.ibatis.plugin.Interceptor;
 import org.apache.ibatis.plugin.InterceptorChain;
 import org.apache.ibatis.reflection.DefaultReflectorFactory;
 import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.PropertyPath;
 import org.apache.ibatis.reflection.ReflectorFactory;
 import org.apache.ibatis.reflection.factory.DefaultObjectFactory;
 import org.apache.ibatis.reflection.factory.ObjectFactory;
@@ -149,6 +154,21 @@ public class Configuration {
 	protected Integer defaultFetchSize;
 	// SIMPLE 就是普通的执行器；REUSE 执行器会重用预处理语句（prepared statements）； BATCH 执行器将重用语句并执行批量更新
 	protected ExecutorType defaultExecutorType = ExecutorType.SIMPLE;
+	// BATCH 执行器中哪些语句共用同一个 JDBC 批次。CONSECUTIVE 只合并连续的相同语句；COMMAND_TYPE 在多个 INSERT
+	// 交替执行时也会合并(会调整插入顺序，UPDATE/DELETE 不合并)；STATEMENT 总是合并相同的语句。默认CONSECUTIVE
+	protected BatchGrouping batchGrouping = BatchGrouping.CONSECUTIVE;
+	// BATCH 执行器中单个语句累计多少行后自动执行所有批次。默认不自动执行
+	protected Integer batchFlushStatementRows;
+	// BATCH 执行器中所有语句累计多少行后自动执行所有批次。默认不自动执行
+	protected Integer batchFlushPendingRows;
+	// BATCH 执行器中参数估算占用多少字节后自动执行所有批次。默认不自动执行
+	protected Long batchFlushPendingBytes;
+	// 自动执行的批次结果保留多少内容直到下次 flushStatements。FULL 保留参数对象；UPDATE_COUNTS 只保留更新行数；NONE 不保留
+	protected BatchResultRetention batchResultRetention = BatchResultRetention.FULL;
+	// BATCH 执行器把简单的 INSERT ... VALUES (...) 合并成多行插入时每条语句最多包含的行数。默认不合并
+	protected Integer batchMultiRowInsertSize;
+	// BATCH 执行器自动执行批次时，最多有多少组批次交给 asyncExecutor 执行，调用线程同时继续收集参数值。默认在调用线程上执行
+	protected Integer batchPipelineDepth;
 	// 指定 MyBatis 应如何自动映射列到字段或属性。 NONE 表示取消自动映射；PARTIAL 只会自动映射没有定义嵌套结果集映射的结果集。 FULL
 	// 会自动映射任意复杂的结果集（无论是否嵌套）
 	protected AutoMappingBehavior autoMappingBehavior = AutoMappingBehavior.PARTIAL;
@@ -166,6 +186,15 @@ public class Configuration {
 	protected boolean lazyLoadingEnabled = false;
 	// 指定 Mybatis 创建具有延迟加载能力的对象所用到的代理工具。MyBatis 3.3+使用JAVASSIST
 	protected ProxyFactory proxyFactory = new JavassistProxyFactory(); // #224 Using internal Javassist instead of OGNL
+	// 返回 CompletableFuture 的 mapper 方法在哪个线程池中执行。默认使用 MyBatis 自带的守护线程池，最多 10 个线程。
+	// 每次调用使用独立的会话和事务，不在调用者的事务中
+	protected java.util.concurrent.Executor asyncExecutor;
+	// 非延迟加载的嵌套查询是否在 asyncExecutor 中并行执行。每个嵌套查询使用独立的连接和事务，看不到当前会话未提交的数据
+	protected boolean parallelNestedQueryEnabled = false;
+	// 一条查询最多同时在 asyncExecutor 中执行多少个嵌套查询。未设置时取连接池最大活动连接数减一，非连接池数据源为 4
+	protected Integer parallelNestedQueryLimit;
+	// 创建 SqlSessionFactory 时是否并行预热 mapper 方法、Reflector 和类型处理器, 避免首次调用时的延迟
+	protected boolean warmUpEnabled = false;
 	// MyBatis 可以根据不同的数据库厂商执行不同的语句，这种多厂商的支持是基于映射语句中的 databaseId 属性。
 	protected String databaseId;
 	/**
@@ -199,6 +228,8 @@ public class Configuration {
 	protected final Map<String, KeyGenerator> keyGenerators = new StrictMap<>("Key Generators collection");
 	// 解析过的mapper.xml资源集合
 	protected final Set<String> loadedResources = new HashSet<>();
+	// 按表达式缓存解析过的属性路径, 供动态sql和结果映射复用
+	protected final Map<String, PropertyPath> propertyPaths = new ConcurrentHashMap<>();
 	protected final Map<String, XNode> sqlFragments = new StrictMap<>("XML fragments parsed from previous mappers");
 
 	protected final Collection<XMLStatementBuilder> incompleteStatements = new LinkedList<>();
@@ -403,6 +434,86 @@ public class Configuration {
 		this.proxyFactory = proxyFactory;
 	}
 
+	/**
+	 * Returns the executor that runs the mapper methods returning a {@link java.util.concurrent.CompletableFuture}, the
+	 * parallel nested queries and the pipelined batches. When none is set, a pool of at most 10 daemon threads shared by all configurations
+	 * is returned.
+	 *
+	 * @since 3.5.1
+	 */
+	public java.util.concurrent.Executor getAsyncExecutor() {
+		return asyncExecutor == null ? DefaultAsyncExecutorHolder.INSTANCE : asyncExecutor;
+	}
+
+	/**
+	 * Sets the executor that runs the mapper methods returning a {@link java.util.concurrent.CompletableFuture}.
+	 * Each call runs in a session and transaction of its own that is committed when the call succeeds. It does not
+	 * take part in the transaction of the calling session and does not see its uncommitted changes. As every running
+	 * call holds a connection, the executor should not run more tasks at once than the data source can serve. When
+	 * not set, a pool of at most 10 daemon threads shared by all configurations is used, which matches the default
+	 * maximum of active connections of a {@link org.apache.ibatis.datasource.pooled.PooledDataSource}; further calls
+	 * wait in its queue.
+	 *
+	 * @since 3.5.1
+	 */
+	public void setAsyncExecutor(java.util.concurrent.Executor asyncExecutor) {
+		this.asyncExecutor = asyncExecutor;
+	}
+
+	/**
+	 * @since 3.5.1
+	 */
+	public boolean isParallelNestedQueryEnabled() {
+		return parallelNestedQueryEnabled;
+	}
+
+	/**
+	 * Enables running the eager nested queries of a result set in parallel on the async executor. Each nested query
+	 * runs on a connection and transaction of its own, so it cannot see uncommitted changes of the calling session.
+	 * Nested queries are therefore only run in parallel when the connection of the session is in auto-commit or
+	 * read-only mode, and sequentially otherwise.
+	 *
+	 * @since 3.5.1
+	 */
+	public void setParallelNestedQueryEnabled(boolean parallelNestedQueryEnabled) {
+		this.parallelNestedQueryEnabled = parallelNestedQueryEnabled;
+	}
+
+	/**
+	 * @since 3.5.1
+	 */
+	public Integer getParallelNestedQueryLimit() {
+		return parallelNestedQueryLimit;
+	}
+
+	/**
+	 * Sets how many nested queries of one result set may run on the async executor at the same time. Each of them
+	 * holds a connection. When not set, the limit is one less than the maximum of active connections of a
+	 * {@link org.apache.ibatis.datasource.pooled.PooledDataSource}, or 4 for other data sources.
+	 *
+	 * @since 3.5.1
+	 */
+	public void setParallelNestedQueryLimit(Integer parallelNestedQueryLimit) {
+		this.parallelNestedQueryLimit = parallelNestedQueryLimit;
+	}
+
+	/**
+	 * @since 3.5.1
+	 */
+	public boolean isWarmUpEnabled() {
+		return warmUpEnabled;
+	}
+
+	/**
+	 * Enables building the mapper methods, the reflectors of the parameter and result types and their type handler
+	 * lookups in parallel when the {@link SqlSessionFactory} is built, instead of on first use.
+	 *
+	 * @since 3.5.1
+	 */
+	public void setWarmUpEnabled(boolean warmUpEnabled) {
+		this.warmUpEnabled = warmUpEnabled;
+	}
+
 	public boolean isAggressiveLazyLoading() {
 		return aggressiveLazyLoading;
 	}
@@ -443,6 +554,126 @@ public class Configuration {
 		this.defaultExecutorType = defaultExecutorType;
 	}
 
+	/**
+	 * @since 3.5.1
+	 */
+	public BatchGrouping getBatchGrouping() {
+		return batchGrouping;
+	}
+
+	/**
+	 * @since 3.5.1
+	 */
+	public void setBatchGrouping(BatchGrouping batchGrouping) {
+		this.batchGrouping = batchGrouping;
+	}
+
+	/**
+	 * @since 3.5.1
+	 */
+	public Integer getBatchFlushStatementRows() {
+		return batchFlushStatementRows;
+	}
+
+	/**
+	 * Sets the number of rows a single statement can batch before the batch executor executes all pending batches.
+	 *
+	 * @since 3.5.1
+	 */
+	public void setBatchFlushStatementRows(Integer batchFlushStatementRows) {
+		this.batchFlushStatementRows = batchFlushStatementRows;
+	}
+
+	/**
+	 * @since 3.5.1
+	 */
+	public Integer getBatchFlushPendingRows() {
+		return batchFlushPendingRows;
+	}
+
+	/**
+	 * Sets the number of rows all statements can batch before the batch executor executes all pending batches.
+	 *
+	 * @since 3.5.1
+	 */
+	public void setBatchFlushPendingRows(Integer batchFlushPendingRows) {
+		this.batchFlushPendingRows = batchFlushPendingRows;
+	}
+
+	/**
+	 * @since 3.5.1
+	 */
+	public Long getBatchFlushPendingBytes() {
+		return batchFlushPendingBytes;
+	}
+
+	/**
+	 * Sets the estimated size in bytes of the batched parameters before the batch executor executes all pending
+	 * batches.
+	 *
+	 * @since 3.5.1
+	 */
+	public void setBatchFlushPendingBytes(Long batchFlushPendingBytes) {
+		this.batchFlushPendingBytes = batchFlushPendingBytes;
+	}
+
+	/**
+	 * @since 3.5.1
+	 */
+	public BatchResultRetention getBatchResultRetention() {
+		return batchResultRetention;
+	}
+
+	/**
+	 * @since 3.5.1
+	 */
+	public void setBatchResultRetention(BatchResultRetention batchResultRetention) {
+		this.batchResultRetention = batchResultRetention;
+	}
+
+	/**
+	 * @since 3.5.1
+	 */
+	public Integer getBatchMultiRowInsertSize() {
+		return batchMultiRowInsertSize;
+	}
+
+	/**
+	 * Sets the maximum number of rows the batch executor inserts with a single multi-row
+	 * {@code INSERT ... VALUES (...), (...)} statement. Batched inserts are executed row by row when not set.
+	 * <p>
+	 * Only plain single row {@code INSERT ... VALUES (...)} statements whose keys are not generated or are generated by
+	 * the driver are rewritten. Keep the size below the maximum number of parameters the database accepts per statement.
+	 *
+	 * @since 3.5.1
+	 */
+	public void setBatchMultiRowInsertSize(Integer batchMultiRowInsertSize) {
+		this.batchMultiRowInsertSize = batchMultiRowInsertSize;
+	}
+
+	/**
+	 * @since 3.5.1
+	 */
+	public Integer getBatchPipelineDepth() {
+		return batchPipelineDepth;
+	}
+
+	/**
+	 * Sets how many groups of batches, flushed because a batch flush threshold was reached, the batch executor may hand
+	 * over to the {@link #getAsyncExecutor() async executor}. The oldest group is executed there while the caller keeps
+	 * adding executions, whose parameter values are read and kept until the batches are bound. Batches are prepared,
+	 * bound and completed on the caller thread, and only once the batches executed before are done, so the session's
+	 * connection is never used by two threads at once. The caller waits when the pipeline is full, and every explicit
+	 * flush, query, commit or rollback waits until the pipeline is drained. So do the executions of callable or plain
+	 * statements, of statements with output parameters and of statements whose keys are generated by other means than
+	 * the driver. Automatically flushed batches are executed on the caller thread when not set.
+	 *
+	 * @since 3.5.1
+	 */
+	public void setBatchPipelineDepth(Integer batchPipelineDepth) {
+		this.batchPipelineDepth = batchPipelineDepth;
+	}
+
 	public boolean isCacheEnabled() {
 		return cacheEnabled;
 	}
@@ -540,6 +771,7 @@ public class Configuration {
 
 	public void setReflectorFactory(ReflectorFactory reflectorFactory) {
 		this.reflectorFactory = reflectorFactory;
+		propertyPaths.clear();
 	}
 
 	public ObjectFactory getObjectFactory() {
@@ -548,6 +780,7 @@ public class Configuration {
 
 	public void setObjectFactory(ObjectFactory objectFactory) {
 		this.objectFactory = objectFactory;
+		propertyPaths.clear();
 	}
 
 	public ObjectWrapperFactory getObjectWrapperFactory() {
@@ -556,6 +789,7 @@ public class Configuration {
 
 	public void setObjectWrapperFactory(ObjectWrapperFactory objectWrapperFactory) {
 		this.objectWrapperFactory = objectWrapperFactory;
+		propertyPaths.clear();
 	}
 
 	/**
@@ -603,6 +837,19 @@ public class Configuration {
 		return MetaObject.forObject(object, objectFactory, objectWrapperFactory, reflectorFactory);
 	}
 
+	public PropertyPath newPropertyPath(String expression) {
+		return new PropertyPath(expression, objectFactory, objectWrapperFactory, reflectorFactory);
+	}
+
+	/**
+	 * Returns the shared {@link PropertyPath} for the expression, parsing it on first use.
+	 *
+	 * @since 3.5.1
+	 */
+	public PropertyPath getPropertyPath(String expression) {
+		return propertyPaths.computeIfAbsent(expression, this::newPropertyPath);
+	}
+
 	public ParameterHandler newParameterHandler(MappedStatement mappedStatement, Object parameterObject,
 			BoundSql boundSql) {
 		ParameterHandler parameterHandler = mappedStatement.getLang().createParameterHandler(mappedStatement,
@@ -1024,4 +1271,20 @@ public class Configuration {
 		}
 	}
 
+	private static class DefaultAsyncExecutorHolder {
+		private static final int POOL_SIZE = 10;
+		private static final java.util.concurrent.Executor INSTANCE = newExecutor();
+
+		private static java.util.concurrent.Executor newExecutor() {
+			ThreadPoolExecutor executor = new ThreadPoolExecutor(POOL_SIZE, POOL_SIZE, 60L, TimeUnit.SECONDS,
+					new LinkedBlockingQueue<>(), runnable -> {
+						Thread thread = new Thread(runnable, "mybatis-async");
+						thread.setDaemon(true);
+						return thread;
+					});
+			executor.allowCoreThreadTimeOut(true);
+			return executor;
+		}
+	}
+
 }
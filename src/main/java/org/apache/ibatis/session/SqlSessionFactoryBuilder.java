@@ -20,6 +20,7 @@ import java.io.InputStream;
 import java.io.Reader;
 import java.util.Properties;
 
+import org.apache.ibatis.builder.ConfigurationWarmer;
 import org.apache.ibatis.builder.xml.XMLConfigBuilder;
 import org.apache.ibatis.exceptions.ExceptionFactory;
 import org.apache.ibatis.executor.ErrorContext;
@@ -92,6 +93,9 @@ public class SqlSessionFactoryBuilder {
   }
 
   public SqlSessionFactory build(Configuration config) {
+    if (config.isWarmUpEnabled()) {
+      new ConfigurationWarmer(config).warmUp();
+    }
     return new DefaultSqlSessionFactory(config);
   }
 
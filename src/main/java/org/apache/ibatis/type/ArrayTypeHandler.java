@@ -15,24 +15,128 @@
  */
 package org.apache.ibatis.type;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URL;
 import java.sql.Array;
 import java.sql.CallableStatement;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * Binds a {@link java.sql.Array}, a java array or a {@link Collection} as a single SQL ARRAY parameter.
+ * <p>
+ * Java arrays and collections are converted with {@link java.sql.Connection#createArrayOf(String, Object[])}, so a
+ * statement like {@code WHERE id = ANY(#{ids,jdbcType=ARRAY})} keeps the same SQL text regardless of the number of
+ * elements. The SQL type name of the elements is resolved by {@link #resolveTypeName(Class)}.
+ *
  * @author Clinton Begin
  */
 public class ArrayTypeHandler extends BaseTypeHandler<Object> {
 
+  private static final Map<Class<?>, String> STANDARD_MAPPING;
+
+  static {
+    STANDARD_MAPPING = new ConcurrentHashMap<>();
+    STANDARD_MAPPING.put(BigDecimal.class, JdbcType.NUMERIC.name());
+    STANDARD_MAPPING.put(BigInteger.class, JdbcType.BIGINT.name());
+    STANDARD_MAPPING.put(boolean.class, JdbcType.BOOLEAN.name());
+    STANDARD_MAPPING.put(Boolean.class, JdbcType.BOOLEAN.name());
+    STANDARD_MAPPING.put(byte[].class, JdbcType.VARBINARY.name());
+    STANDARD_MAPPING.put(byte.class, JdbcType.TINYINT.name());
+    STANDARD_MAPPING.put(Byte.class, JdbcType.TINYINT.name());
+    STANDARD_MAPPING.put(Calendar.class, JdbcType.TIMESTAMP.name());
+    STANDARD_MAPPING.put(java.sql.Date.class, JdbcType.DATE.name());
+    STANDARD_MAPPING.put(java.util.Date.class, JdbcType.TIMESTAMP.name());
+    STANDARD_MAPPING.put(double.class, JdbcType.DOUBLE.name());
+    STANDARD_MAPPING.put(Double.class, JdbcType.DOUBLE.name());
+    STANDARD_MAPPING.put(float.class, JdbcType.REAL.name());
+    STANDARD_MAPPING.put(Float.class, JdbcType.REAL.name());
+    STANDARD_MAPPING.put(int.class, JdbcType.INTEGER.name());
+    STANDARD_MAPPING.put(Integer.class, JdbcType.INTEGER.name());
+    STANDARD_MAPPING.put(LocalDate.class, JdbcType.DATE.name());
+    STANDARD_MAPPING.put(LocalDateTime.class, JdbcType.TIMESTAMP.name());
+    STANDARD_MAPPING.put(LocalTime.class, JdbcType.TIME.name());
+    STANDARD_MAPPING.put(long.class, JdbcType.BIGINT.name());
+    STANDARD_MAPPING.put(Long.class, JdbcType.BIGINT.name());
+    STANDARD_MAPPING.put(OffsetDateTime.class, JdbcType.TIMESTAMP_WITH_TIMEZONE.name());
+    STANDARD_MAPPING.put(OffsetTime.class, JdbcType.TIME_WITH_TIMEZONE.name());
+    STANDARD_MAPPING.put(short.class, JdbcType.SMALLINT.name());
+    STANDARD_MAPPING.put(Short.class, JdbcType.SMALLINT.name());
+    STANDARD_MAPPING.put(String.class, JdbcType.VARCHAR.name());
+    STANDARD_MAPPING.put(Time.class, JdbcType.TIME.name());
+    STANDARD_MAPPING.put(Timestamp.class, JdbcType.TIMESTAMP.name());
+    STANDARD_MAPPING.put(URL.class, JdbcType.DATALINK.name());
+  }
+
   public ArrayTypeHandler() {
     super();
   }
 
   @Override
   public void setNonNullParameter(PreparedStatement ps, int i, Object parameter, JdbcType jdbcType) throws SQLException {
-    ps.setArray(i, (Array) parameter);
+    if (parameter instanceof Array) {
+      // it's the user's responsibility to properly free() the Array instance
+      ps.setArray(i, (Array) parameter);
+      return;
+    }
+    Object[] elements;
+    Class<?> componentType;
+    if (parameter instanceof Collection) {
+      elements = ((Collection<?>) parameter).toArray();
+      componentType = resolveComponentType(elements);
+    } else if (parameter.getClass().isArray()) {
+      componentType = parameter.getClass().getComponentType();
+      elements = toObjectArray(parameter);
+    } else {
+      throw new TypeException("ArrayTypeHandler requires SQL array, java array or collection parameter and does not support type "
+          + parameter.getClass());
+    }
+    Array array = ps.getConnection().createArrayOf(resolveTypeName(componentType), elements);
+    ps.setArray(i, array);
+    array.free();
+  }
+
+  /**
+   * Returns the SQL type name passed to {@link java.sql.Connection#createArrayOf(String, Object[])} for the given
+   * element type. Override this to use vendor specific type names (e.g. {@code int4} or {@code text}).
+   */
+  protected String resolveTypeName(Class<?> type) {
+    String typeName = STANDARD_MAPPING.get(type);
+    return typeName == null ? JdbcType.JAVA_OBJECT.name() : typeName;
+  }
+
+  private Class<?> resolveComponentType(Object[] elements) {
+    for (Object element : elements) {
+      if (element != null) {
+        return element.getClass();
+      }
+    }
+    return Object.class;
+  }
+
+  private Object[] toObjectArray(Object array) {
+    if (array instanceof Object[]) {
+      return (Object[]) array;
+    }
+    int length = java.lang.reflect.Array.getLength(array);
+    Object[] result = new Object[length];
+    for (int i = 0; i < length; i++) {
+      result[i] = java.lang.reflect.Array.get(array, i);
+    }
+    return result;
   }
 
   @Override
@@ -215,7 +215,7 @@ public final class TypeHandlerRegistry {
 
   @SuppressWarnings("unchecked")
   private <T> TypeHandler<T> getTypeHandler(Type type, JdbcType jdbcType) {
-    if (ParamMap.class.equals(type)) {
+    if (type instanceof Class && ParamMap.class.isAssignableFrom((Class<?>) type)) {
       return null;
     }
     Map<JdbcType, TypeHandler<?>> jdbcHandlerMap = getJdbcHandlerMap(type);
@@ -230,6 +230,10 @@ public final class TypeHandlerRegistry {
         handler = pickSoleHandler(jdbcHandlerMap);
       }
     }
+    if (handler == null && JdbcType.ARRAY.equals(jdbcType) && isArrayOrCollection(type)) {
+      // bind java arrays and collections as a single SQL ARRAY
+      handler = jdbcTypeHandlerMap.get(JdbcType.ARRAY);
+    }
     // type drives generics here
     return (TypeHandler<T>) handler;
   }
@@ -301,6 +305,14 @@ public final class TypeHandlerRegistry {
     return soleHandler;
   }
 
+  private boolean isArrayOrCollection(Type type) {
+    if (!(type instanceof Class)) {
+      return false;
+    }
+    Class<?> clazz = (Class<?>) type;
+    return clazz.isArray() || Collection.class.isAssignableFrom(clazz);
+  }
+
   public TypeHandler<Object> getUnknownTypeHandler() {
     return unknownTypeHandler;
   }
@@ -25,6 +25,7 @@ import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Properties;
+import java.util.concurrent.ForkJoinPool;
 
 import org.apache.ibatis.builder.mapper.CustomMapper;
 import org.apache.ibatis.builder.typehandler.CustomIntegerTypeHandler;
@@ -45,6 +46,8 @@ import org.apache.ibatis.scripting.defaults.RawLanguageDriver;
 import org.apache.ibatis.scripting.xmltags.XMLLanguageDriver;
 import org.apache.ibatis.session.AutoMappingBehavior;
 import org.apache.ibatis.session.AutoMappingUnknownColumnBehavior;
+import org.apache.ibatis.session.BatchGrouping;
+import org.apache.ibatis.session.BatchResultRetention;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.LocalCacheScope;
@@ -84,6 +87,17 @@ class XmlConfigBuilderTest {
       assertThat(config.isUseColumnLabel()).isTrue();
       assertThat(config.isUseGeneratedKeys()).isFalse();
       assertThat(config.getDefaultExecutorType()).isEqualTo(ExecutorType.SIMPLE);
+      assertThat(config.getBatchGrouping()).isEqualTo(BatchGrouping.CONSECUTIVE);
+      assertNull(config.getBatchFlushStatementRows());
+      assertNull(config.getBatchFlushPendingRows());
+      assertNull(config.getBatchFlushPendingBytes());
+      assertThat(config.getBatchResultRetention()).isEqualTo(BatchResultRetention.FULL);
+      assertNull(config.getBatchMultiRowInsertSize());
+      assertNull(config.getBatchPipelineDepth());
+      assertNotNull(config.getAsyncExecutor());
+      assertThat(config.isParallelNestedQueryEnabled()).isFalse();
+      assertNull(config.getParallelNestedQueryLimit());
+      assertThat(config.isWarmUpEnabled()).isFalse();
       assertNull(config.getDefaultStatementTimeout());
       assertNull(config.getDefaultFetchSize());
       assertThat(config.isMapUnderscoreToCamelCase()).isFalse();
@@ -177,6 +191,17 @@ class XmlConfigBuilderTest {
       assertThat(config.isUseColumnLabel()).isFalse();
       assertThat(config.isUseGeneratedKeys()).isTrue();
       assertThat(config.getDefaultExecutorType()).isEqualTo(ExecutorType.BATCH);
+      assertThat(config.getBatchGrouping()).isEqualTo(BatchGrouping.COMMAND_TYPE);
+      assertThat(config.getBatchFlushStatementRows()).isEqualTo(1000);
+      assertThat(config.getBatchFlushPendingRows()).isEqualTo(5000);
+      assertThat(config.getBatchFlushPendingBytes()).isEqualTo(10000000L);
+      assertThat(config.getBatchResultRetention()).isEqualTo(BatchResultRetention.UPDATE_COUNTS);
+      assertThat(config.getBatchMultiRowInsertSize()).isEqualTo(100);
+      assertThat(config.getBatchPipelineDepth()).isEqualTo(2);
+      assertThat(config.getAsyncExecutor()).isInstanceOf(ForkJoinPool.class);
+      assertThat(config.isParallelNestedQueryEnabled()).isTrue();
+      assertThat(config.getParallelNestedQueryLimit()).isEqualTo(3);
+      assertThat(config.isWarmUpEnabled()).isTrue();
       assertThat(config.getDefaultStatementTimeout()).isEqualTo(10);
       assertThat(config.getDefaultFetchSize()).isEqualTo(100);
       assertThat(config.isMapUnderscoreToCamelCase()).isTrue();
@@ -399,6 +399,16 @@ class DynamicSqlSourceTest extends BaseDataTest {
     Assertions.assertEquals("id=", sql);
   }
 
+  @Test
+  void shouldReuseTextSqlNodeForDifferentParameters() {
+    final TextSqlNode textSqlNode = new TextSqlNode("select * from ${id} where name = \\${name} and id = #{id}");
+    Assertions.assertTrue(textSqlNode.isDynamic());
+    Assertions.assertFalse(new TextSqlNode("select * from blog where id = #{id}").isDynamic());
+    final DynamicSqlSource source = new DynamicSqlSource(new Configuration(), mixedContents(textSqlNode));
+    Assertions.assertEquals("select * from blog where name = ${name} and id = ?", source.getBoundSql(new Bean("blog")).getSql());
+    Assertions.assertEquals("select * from post where name = ${name} and id = ?", source.getBoundSql(new Bean("post")).getSql());
+  }
+
   public static class Bean {
     public String id;
     Bean(String property) {
@@ -69,4 +69,16 @@ class JavassistProxyTest extends SerializableProxyTest {
     assertNotEquals(author.getClass(), author2.getClass());
   }
 
+  @Test
+  void shouldReuseTheProxyClassOfAType() {
+    ResultLoaderMap loader = new ResultLoaderMap();
+    loader.addLoader("id", null, null);
+    Configuration configuration = new Configuration();
+    Object proxy1 = proxyFactory.createProxy(author, loader, configuration, new DefaultObjectFactory(), new ArrayList<>(), new ArrayList<>());
+    Object proxy2 = proxyFactory.createProxy(author, new ResultLoaderMap(), configuration, new DefaultObjectFactory(), new ArrayList<>(), new ArrayList<>());
+    assertNotSame(proxy1, proxy2);
+    assertSame(proxy1.getClass(), proxy2.getClass());
+    assertEquals(999, ((Author) proxy2).getId());
+  }
+
 }
@@ -91,6 +91,92 @@ class PooledDataSourceTest extends BaseDataTest {
     c.close();
   }
 
+  @Test
+  void shouldReuseStatementsAcrossConnectionsOfTheSamePhysicalConnection() throws Exception {
+    PooledDataSource ds = createPooledDataSource(JPETSTORE_PROPERTIES);
+    try {
+      ds.setPoolMaximumActiveConnections(1);
+      ds.setPoolStatementCacheSize(2);
+      Connection c = ds.getConnection();
+      PreparedStatement st = c.prepareStatement("select 1 from INFORMATION_SCHEMA.SYSTEM_USERS");
+      Object realStatement = st.unwrap(PreparedStatement.class);
+      st.setMaxRows(5);
+      st.close();
+      assertTrue(st.isClosed());
+      assertThrows(SQLException.class, st::executeQuery);
+      c.close();
+
+      c = ds.getConnection();
+      st = c.prepareStatement("select 1 from INFORMATION_SCHEMA.SYSTEM_USERS");
+      assertSame(realStatement, st.unwrap(PreparedStatement.class));
+      assertSame(c, st.getConnection());
+      assertEquals(0, st.getMaxRows());
+      PreparedStatement other = c.prepareStatement("select 1 from INFORMATION_SCHEMA.SYSTEM_USERS");
+      assertNotSame(realStatement, other.unwrap(PreparedStatement.class));
+      other.close();
+      st.close();
+      c.close();
+
+      assertEquals(1, ds.getPoolState().getStatementCacheHitCount());
+      assertEquals(2, ds.getPoolState().getStatementCacheMissCount());
+      assertEquals(0, ds.getPoolState().getStatementCacheEvictionCount());
+    } finally {
+      ds.forceCloseAll();
+    }
+  }
+
+  @Test
+  void shouldEvictLeastRecentlyUsedStatement() throws Exception {
+    PooledDataSource ds = createPooledDataSource(JPETSTORE_PROPERTIES);
+    try {
+      ds.setPoolStatementCacheSize(2);
+      try (Connection c = ds.getConnection()) {
+        PreparedStatement first = c.prepareStatement("select 1 from INFORMATION_SCHEMA.SYSTEM_USERS");
+        Object realFirst = first.unwrap(PreparedStatement.class);
+        first.close();
+        c.prepareStatement("select 2 from INFORMATION_SCHEMA.SYSTEM_USERS").close();
+        c.prepareStatement("select 1 from INFORMATION_SCHEMA.SYSTEM_USERS").close();
+        PreparedStatement third = c.prepareStatement("select 3 from INFORMATION_SCHEMA.SYSTEM_USERS");
+        Object realThird = third.unwrap(PreparedStatement.class);
+        third.close();
+        assertEquals(1, ds.getPoolState().getStatementCacheEvictionCount());
+        assertFalse(((PreparedStatement) realThird).isClosed());
+        PreparedStatement again = c.prepareStatement("select 1 from INFORMATION_SCHEMA.SYSTEM_USERS");
+        assertSame(realFirst, again.unwrap(PreparedStatement.class));
+        again.close();
+        c.prepareStatement("select 2 from INFORMATION_SCHEMA.SYSTEM_USERS").close();
+      }
+      assertEquals(2, ds.getPoolState().getStatementCacheHitCount());
+      assertEquals(4, ds.getPoolState().getStatementCacheMissCount());
+    } finally {
+      ds.forceCloseAll();
+    }
+  }
+
+  @Test
+  void shouldNotHandOutCachedStatementsThatGotClosed() throws Exception {
+    PooledDataSource ds = createPooledDataSource(JPETSTORE_PROPERTIES);
+    try {
+      ds.setPoolStatementCacheSize(2);
+      try (Connection c = ds.getConnection()) {
+        PreparedStatement st = c.prepareStatement("select 1 from INFORMATION_SCHEMA.SYSTEM_USERS");
+        PreparedStatement realStatement = st.unwrap(PreparedStatement.class);
+        st.close();
+        realStatement.close();
+        PreparedStatement again = c.prepareStatement("select 1 from INFORMATION_SCHEMA.SYSTEM_USERS");
+        assertNotSame(realStatement, again.unwrap(PreparedStatement.class));
+        try (ResultSet rs = again.executeQuery()) {
+          assertTrue(rs.next());
+        }
+        again.close();
+      }
+      assertEquals(0, ds.getPoolState().getStatementCacheHitCount());
+      assertEquals(2, ds.getPoolState().getStatementCacheMissCount());
+    } finally {
+      ds.forceCloseAll();
+    }
+  }
+
   @Disabled("See the comments")
   @Test
   void shouldReconnectWhenServerKilledLeakedConnection() throws Exception {
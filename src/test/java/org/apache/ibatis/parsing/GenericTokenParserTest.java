@@ -16,6 +16,8 @@
 package org.apache.ibatis.parsing;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Disabled;
@@ -86,6 +88,59 @@ class GenericTokenParserTest {
     assertEquals("The null is ${skipped} variable", parser.parse("The ${skipped} is \\${skipped} variable"));
   }
 
+  @Test
+  void shouldTokenizeLikeParse() {
+    VariableTokenHandler handler = new VariableTokenHandler(new HashMap<String, String>() {
+      {
+        put("first_name", "James");
+        put("initial", "T");
+        put("last_name", "Kirk");
+        put("var{with}brace", "Hiya");
+        put("", "");
+      }
+    });
+    GenericTokenParser parser = new GenericTokenParser("${", "}", handler);
+    GenericTokenParser tokenizer = new GenericTokenParser("${", "}");
+    String[] texts = {
+        "${first_name} ${initial} ${last_name} reporting.",
+        "}${first_name}{{${initial}}}${last_name}",
+        "}${first_name}}${initial}{${last_name}{{}}${}",
+        "{$$something}${first_name}${initial}${last_name}",
+        "${", "${\\}", "${var{with\\}brace}", "${}", "}", "",
+        "Hello ${ this is a test.", "Hello } ${ this is a test.",
+        "This is a \\${skipped} variable", "The ${first_name} is \\${skipped} variable"
+    };
+    for (String text : texts) {
+      assertEquals(parser.parse(text), tokenizer.tokenize(text).apply(handler), text);
+    }
+  }
+
+  @Test
+  void shouldSplitTextIntoLiteralsAndTokens() {
+    TokenizedText tokenized = new GenericTokenParser("${", "}").tokenize("select ${column} from \\${table} where ${x\\}y}");
+    assertEquals(4, tokenized.size());
+    assertEquals("select ", tokenized.getSegment(0));
+    assertFalse(tokenized.isToken(0));
+    assertEquals("column", tokenized.getSegment(1));
+    assertTrue(tokenized.isToken(1));
+    assertEquals(" from ${table} where ", tokenized.getSegment(2));
+    assertFalse(tokenized.isToken(2));
+    assertEquals("x}y", tokenized.getSegment(3));
+    assertTrue(tokenized.isToken(3));
+    assertTrue(tokenized.hasTokens());
+
+    TokenizedText literal = new GenericTokenParser("${", "}").tokenize("select 1");
+    assertEquals(1, literal.size());
+    assertFalse(literal.hasTokens());
+    assertEquals("select 1", literal.apply(content -> "unused"));
+  }
+
+  @Test
+  void shouldNotParseWithoutTokenHandler() {
+    GenericTokenParser tokenizer = new GenericTokenParser("${", "}");
+    Assertions.assertThrows(IllegalStateException.class, () -> tokenizer.parse("select ${column}"));
+  }
+
   @Disabled("Because it randomly fails on Travis CI. It could be useful during development.")
   @Test
   void shouldParseFastOnJdk7u6() {
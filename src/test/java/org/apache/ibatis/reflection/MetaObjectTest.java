@@ -300,4 +300,28 @@ class MetaObjectTest {
     assertTrue(meta.hasGetter("filterParams[2]"));
   }
 
+  @Test
+  void shouldRebindToObjectOfSameClass() {
+    RichType first = new RichType();
+    RichType second = new RichType();
+    MetaObject meta = SystemMetaObject.forObject(first);
+    meta.setValue("richProperty", "foo");
+    assertTrue(meta.rebind(second));
+    assertSame(second, meta.getOriginalObject());
+    meta.setValue("richProperty", "bar");
+    assertEquals("foo", first.getRichProperty());
+    assertEquals("bar", second.getRichProperty());
+  }
+
+  @Test
+  void shouldNotRebindToOtherObjects() {
+    MetaObject meta = SystemMetaObject.forObject(new RichType());
+    assertFalse(meta.rebind(null));
+    assertFalse(meta.rebind(new Author()));
+    assertFalse(SystemMetaObject.forObject(new HashMap<>()).rebind(new HashMap<>()));
+    Author author = new Author();
+    MetaObject customMeta = MetaObject.forObject(author, SystemMetaObject.DEFAULT_OBJECT_FACTORY, new CustomBeanWrapperFactory(), new DefaultReflectorFactory());
+    assertFalse(customMeta.rebind(new Author()));
+  }
+
 }
@@ -0,0 +1,130 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.binding.BindingException;
+import org.apache.ibatis.binding.MapperMethod.ParamMap;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.Test;
+
+class ParamNameResolverTest {
+
+  interface Mapper {
+    void single(String name);
+
+    void multiple(@Param("id") Integer id, RowBounds rowBounds, @Param("name") String name);
+
+    void genericName(@Param("param2") Integer id, @Param("name") String name);
+  }
+
+  private static ParamNameResolver resolver(String methodName) {
+    for (Method method : Mapper.class.getMethods()) {
+      if (method.getName().equals(methodName)) {
+        return new ParamNameResolver(new Configuration(), method);
+      }
+    }
+    throw new IllegalArgumentException(methodName);
+  }
+
+  @Test
+  void shouldReturnSingleParameterAsIs() {
+    assertEquals("foo", resolver("single").getNamedParams(new Object[] { "foo" }));
+  }
+
+  @Test
+  void shouldResolveNamedAndGenericParameters() {
+    @SuppressWarnings("unchecked")
+    Map<String, Object> params = (Map<String, Object>) resolver("multiple").getNamedParams(new Object[] { 1, RowBounds.DEFAULT, "foo" });
+    assertTrue(params instanceof ParamMap);
+    assertEquals(4, params.size());
+    assertEquals(1, params.get("id"));
+    assertEquals(1, params.get("param1"));
+    assertEquals("foo", params.get("name"));
+    assertEquals("foo", params.get("param2"));
+    assertTrue(params.containsKey("name"));
+    assertFalse(params.containsKey("rowBounds"));
+    BindingException e = assertThrows(BindingException.class, () -> params.get("rowBounds"));
+    assertTrue(e.getMessage().startsWith("Parameter 'rowBounds' not found."));
+  }
+
+  @Test
+  void shouldNotOverwriteParameterNamedLikeGenericName() {
+    @SuppressWarnings("unchecked")
+    Map<String, Object> params = (Map<String, Object>) resolver("genericName").getNamedParams(new Object[] { 1, "foo" });
+    assertEquals(1, params.get("param2"));
+    assertEquals(1, params.get("param1"));
+    assertEquals(3, params.size());
+  }
+
+  @Test
+  void shouldBehaveAsHashMapAfterModification() {
+    @SuppressWarnings("unchecked")
+    Map<String, Object> params = (Map<String, Object>) resolver("multiple").getNamedParams(new Object[] { 1, RowBounds.DEFAULT, "foo" });
+    params.put("id", 2);
+    params.put("key", 3);
+    assertEquals(2, params.get("id"));
+    assertEquals(3, params.get("key"));
+    assertEquals("foo", params.get("name"));
+    assertEquals(5, params.size());
+    Map<String, Object> expected = new HashMap<>();
+    expected.put("id", 2);
+    expected.put("param1", 1);
+    expected.put("name", "foo");
+    expected.put("param2", "foo");
+    expected.put("key", 3);
+    assertEquals(expected, params);
+    assertThrows(BindingException.class, () -> params.get("unknown"));
+  }
+
+  @Test
+  void shouldBeEqualToPlainParamMap() {
+    Object params = resolver("multiple").getNamedParams(new Object[] { 1, RowBounds.DEFAULT, "foo" });
+    ParamMap<Object> expected = new ParamMap<>();
+    expected.put("id", 1);
+    expected.put("param1", 1);
+    expected.put("name", "foo");
+    expected.put("param2", "foo");
+    assertEquals(expected, params);
+    assertEquals(expected.hashCode(), params.hashCode());
+  }
+
+  @Test
+  void shouldSerializeAsParamMap() throws Exception {
+    Object params = resolver("multiple").getNamedParams(new Object[] { 1, RowBounds.DEFAULT, "foo" });
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(params);
+    }
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      Object deserialized = in.readObject();
+      assertEquals(ParamMap.class, deserialized.getClass());
+      assertEquals(params, deserialized);
+    }
+  }
+
+}
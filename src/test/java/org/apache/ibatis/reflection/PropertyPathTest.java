@@ -0,0 +1,147 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.binding.BindingException;
+import org.apache.ibatis.binding.MapperMethod.ParamMap;
+import org.apache.ibatis.domain.blog.Author;
+import org.apache.ibatis.domain.misc.RichType;
+import org.apache.ibatis.reflection.wrapper.DefaultObjectWrapperFactory;
+import org.junit.jupiter.api.Test;
+
+class PropertyPathTest {
+
+  private static PropertyPath path(String expression) {
+    return new PropertyPath(expression, SystemMetaObject.DEFAULT_OBJECT_FACTORY, new DefaultObjectWrapperFactory(), new DefaultReflectorFactory());
+  }
+
+  @Test
+  void shouldGetSimpleAndNestedProperty() {
+    RichType rich = new RichType();
+    rich.setRichProperty("foo");
+    rich.setRichType(new RichType());
+    rich.getRichType().setRichProperty("bar");
+    assertEquals("foo", path("richProperty").getValue(rich));
+    assertEquals("bar", path("richType.richProperty").getValue(rich));
+    assertEquals("richType", path("richType.richProperty").getRootName());
+  }
+
+  @Test
+  void shouldGetField() {
+    RichType rich = new RichType();
+    SystemMetaObject.forObject(rich).setValue("richField", "foo");
+    assertEquals("foo", path("richField").getValue(rich));
+  }
+
+  @Test
+  void shouldReturnNullForNullIntermediateValue() {
+    assertNull(path("richType.richProperty").getValue(new RichType()));
+  }
+
+  @Test
+  void shouldGetMapEntries() {
+    RichType rich = new RichType();
+    rich.getRichMap().put("key", "foo");
+    Map<String, Object> map = new HashMap<>();
+    map.put("rich", rich);
+    assertEquals("foo", path("rich.richMap.key").getValue(map));
+    assertEquals("foo", path("rich.richMap[key]").getValue(map));
+  }
+
+  @Test
+  void shouldGetIndexedValue() {
+    RichType rich = new RichType();
+    List<Object> list = new ArrayList<>();
+    list.add("foo");
+    rich.setRichList(list);
+    assertEquals("foo", path("richList[0]").getValue(rich));
+  }
+
+  @Test
+  void shouldReuseGetterAcrossClasses() {
+    PropertyPath path = path("id");
+    Author author = new Author();
+    author.setId(1);
+    Map<String, Object> map = new HashMap<>();
+    map.put("id", 2);
+    assertEquals(1, path.getValue(author));
+    assertEquals(2, path.getValue(map));
+    assertEquals(1, path.getValue(author));
+  }
+
+  @Test
+  void shouldKeepParamMapBehavior() {
+    ParamMap<Object> paramMap = new ParamMap<>();
+    paramMap.put("id", 1);
+    assertEquals(1, path("id").getValue(paramMap));
+    assertThrows(BindingException.class, () -> path("name").getValue(paramMap));
+  }
+
+  @Test
+  void shouldFailForMissingGetter() {
+    assertThrows(ReflectionException.class, () -> path("unknown").getValue(new RichType()));
+  }
+
+  @Test
+  void shouldSetSimpleAndNestedProperty() {
+    RichType rich = new RichType();
+    rich.setRichType(new RichType());
+    path("richProperty").setValue(rich, "foo");
+    path("richType.richProperty").setValue(rich, "bar");
+    assertEquals("foo", rich.getRichProperty());
+    assertEquals("bar", rich.getRichType().getRichProperty());
+  }
+
+  @Test
+  void shouldInstantiateNullIntermediateValueOnSet() {
+    RichType rich = new RichType();
+    path("richType.richProperty").setValue(rich, "foo");
+    assertEquals("foo", rich.getRichType().getRichProperty());
+    path("richType.richType.richProperty").setValue(rich, null);
+    assertNull(rich.getRichType().getRichType());
+  }
+
+  @Test
+  void shouldSetFieldMapEntryAndIndexedValue() {
+    RichType rich = new RichType();
+    List<Object> list = new ArrayList<>();
+    list.add("foo");
+    rich.setRichList(list);
+    Map<String, Object> map = new HashMap<>();
+    map.put("rich", rich);
+    path("rich.richField").setValue(map, "foo");
+    path("rich.richMap.key").setValue(map, "bar");
+    path("rich.richList[0]").setValue(map, "baz");
+    path("other").setValue(map, "qux");
+    assertEquals("foo", SystemMetaObject.forObject(rich).getValue("richField"));
+    assertEquals("bar", rich.getRichMap().get("key"));
+    assertEquals("baz", rich.getRichList().get(0));
+    assertEquals("qux", map.get("other"));
+  }
+
+  @Test
+  void shouldFailForMissingSetter() {
+    assertThrows(ReflectionException.class, () -> path("unknown").setValue(new RichType(), "foo"));
+  }
+
+}
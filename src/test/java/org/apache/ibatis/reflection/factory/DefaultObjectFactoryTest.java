@@ -15,6 +15,10 @@
  */
 package org.apache.ibatis.reflection.factory;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -94,4 +98,31 @@ class DefaultObjectFactoryTest {
     Set set = defaultObjectFactory.create(Set.class);
     Assertions.assertTrue(set instanceof HashSet, " set should be HashSet");
   }
+
+  @Test
+  void createClassRepeatedlyWithDifferentSignatures() {
+    DefaultObjectFactory defaultObjectFactory = new DefaultObjectFactory();
+    for (int i = 0; i < 3; i++) {
+      TestClass testClass = defaultObjectFactory.create(TestClass.class,
+          Arrays.asList(String.class, Integer.class), Arrays.asList("foo", i));
+      Assertions.assertEquals((Integer) i, testClass.myInteger, "myInteger didn't match expected");
+      Assertions.assertTrue(defaultObjectFactory.create(List.class) instanceof ArrayList, " list should be ArrayList");
+    }
+  }
+
+  @Test
+  void createClassAfterDeserialization() throws Exception {
+    DefaultObjectFactory defaultObjectFactory = new DefaultObjectFactory();
+    defaultObjectFactory.create(List.class);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(defaultObjectFactory);
+    }
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      DefaultObjectFactory deserialized = (DefaultObjectFactory) in.readObject();
+      TestClass testClass = deserialized.create(TestClass.class,
+          Arrays.asList(String.class, Integer.class), Arrays.asList("foo", 0));
+      Assertions.assertEquals("foo", testClass.myString, "myString didn't match expected");
+    }
+  }
 }
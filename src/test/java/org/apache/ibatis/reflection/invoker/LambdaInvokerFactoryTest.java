@@ -0,0 +1,146 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.invoker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.reflection.DefaultReflectorFactory;
+import org.apache.ibatis.reflection.MetaClass;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.ReflectionException;
+import org.apache.ibatis.reflection.Reflector;
+import org.apache.ibatis.reflection.factory.DefaultObjectFactory;
+import org.apache.ibatis.reflection.wrapper.DefaultObjectWrapperFactory;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+class LambdaInvokerFactoryTest {
+
+  private final Reflector reflector = new DefaultReflectorFactory(new LambdaInvokerFactory()).findForClass(Bean.class);
+
+  @Test
+  void shouldAccessPropertiesThroughGeneratedInvokers() throws Exception {
+    Bean bean = new Bean();
+    reflector.getSetInvoker("name").invoke(bean, new Object[] { "mybatis" });
+    reflector.getSetInvoker("count").invoke(bean, new Object[] { 3 });
+    reflector.getSetInvoker("field").invoke(bean, new Object[] { "value" });
+    assertEquals("mybatis", reflector.getGetInvoker("name").invoke(bean, null));
+    assertEquals(3, reflector.getGetInvoker("count").invoke(bean, null));
+    assertEquals("value", reflector.getGetInvoker("field").invoke(bean, null));
+    assertEquals(int.class, reflector.getSetInvoker("count").getType());
+    assertFalse(reflector.getGetInvoker("name") instanceof MethodInvoker);
+    assertFalse(reflector.getSetInvoker("field") instanceof SetFieldInvoker);
+  }
+
+  @Test
+  void shouldFallBackToReflectionForFinalFields() throws Exception {
+    Invoker invoker = reflector.getSetInvoker("constant");
+    assertTrue(invoker instanceof SetFieldInvoker);
+    assertEquals("constant", reflector.getGetInvoker("constant").invoke(new Bean(), null));
+  }
+
+  @Test
+  void shouldWrapExceptionsOfAccessors() {
+    Invoker invoker = reflector.getGetInvoker("failing");
+    InvocationTargetException e = assertThrows(InvocationTargetException.class, () -> invoker.invoke(new Bean(), null));
+    assertTrue(e.getCause() instanceof IllegalStateException);
+  }
+
+  @Test
+  void shouldBeUsedByMetaObject() {
+    Bean bean = new Bean();
+    MetaObject metaObject = MetaObject.forObject(bean, new DefaultObjectFactory(), new DefaultObjectWrapperFactory(),
+        new DefaultReflectorFactory(new LambdaInvokerFactory()));
+    metaObject.setValue("count", 7);
+    metaObject.setValue("name", "bean");
+    assertEquals(7, bean.getCount());
+    assertEquals("bean", metaObject.getValue("name"));
+    assertThrows(ReflectionException.class, () -> metaObject.setValue("count", "seven"));
+  }
+
+  @Test
+  void shouldResolveGenericTypesOfIndexedProperties() {
+    MetaClass metaClass = MetaClass.forClass(Bean.class, new DefaultReflectorFactory(new LambdaInvokerFactory()));
+    assertEquals(Long.class, metaClass.getGetterType("items[0].id"));
+    assertEquals(Long.class, metaClass.getGetterType("fieldItems[0].id"));
+    assertTrue(reflector.getGetInvoker("items") instanceof MemberInvoker);
+  }
+
+  @Test
+  void shouldUseReflectionForPackagesNotOpenToMyBatis() throws Exception {
+    boolean java9 = true;
+    try {
+      MethodHandles.class.getMethod("privateLookupIn", Class.class, MethodHandles.Lookup.class);
+    } catch (NoSuchMethodException e) {
+      java9 = false;
+    }
+    Assumptions.assumeTrue(java9, "Modules exist on Java 9 and later");
+    Reflector listReflector = new DefaultReflectorFactory(new LambdaInvokerFactory()).findForClass(ArrayList.class);
+    Invoker invoker = listReflector.getGetInvoker("empty");
+    assertTrue(invoker instanceof MethodInvoker);
+    assertEquals(true, invoker.invoke(new ArrayList<>(), null));
+  }
+
+  static class Bean {
+    private String name;
+    private int count;
+    private String field;
+    private final String constant = "constant";
+    private List<Item> items;
+    private List<Item> fieldItems;
+
+    public List<Item> getItems() {
+      return items;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    int getCount() {
+      return count;
+    }
+
+    private void setCount(int count) {
+      this.count = count;
+    }
+
+    public String getFailing() {
+      throw new IllegalStateException("failing");
+    }
+  }
+
+  static class Item {
+    private Long id;
+
+    public Long getId() {
+      return id;
+    }
+  }
+
+}
@@ -0,0 +1,258 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.processing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.apache.ibatis.reflection.DefaultReflectorFactory;
+import org.apache.ibatis.reflection.Reflector;
+import org.apache.ibatis.reflection.ReflectorMetadata;
+import org.apache.ibatis.reflection.invoker.ReflectionInvokerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ReflectorMetadataProcessorTest {
+
+  private Path directory;
+  private URLClassLoader classLoader;
+
+  @BeforeEach
+  void compile() throws Exception {
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    Assumptions.assumeTrue(compiler != null, "A JDK is required to run the annotation processor");
+    directory = Files.createTempDirectory("reflector-metadata");
+    Path sources = Files.createDirectories(directory.resolve("src/sample"));
+    Path classes = Files.createDirectories(directory.resolve("classes"));
+    write(sources.resolve("Identified.java"),
+        "package sample;",
+        "public interface Identified<T> {",
+        "  T getId();",
+        "  default String getLabel() { return \"label\"; }",
+        "}");
+    write(sources.resolve("Base.java"),
+        "package sample;",
+        "public abstract class Base<T> implements Identified<T> {",
+        "  public static final String CONSTANT = \"constant\";",
+        "  private T id;",
+        "  protected String note;",
+        "  public T getId() { return id; }",
+        "  public void setId(T id) { this.id = id; }",
+        "  public abstract Object getOwner();",
+        "}");
+    write(sources.resolve("User.java"),
+        "package sample;",
+        "@org.apache.ibatis.reflection.processing.GenerateReflectorMetadata",
+        "public class User extends Base<Long> {",
+        "  private String name;",
+        "  private boolean active;",
+        "  private String[] tags;",
+        "  private java.util.List<String> roles;",
+        "  private Integer value;",
+        "  private String hidden;",
+        "  public String getName() { return name; }",
+        "  public void setName(String name) { this.name = name; }",
+        "  public boolean isActive() { return active; }",
+        "  public boolean getActive() { return active; }",
+        "  public void setActive(boolean active) { this.active = active; }",
+        "  public String[] getTags() { return tags; }",
+        "  public void setTags(String[] tags) { this.tags = tags; }",
+        "  public java.util.List<String> getRoles() { return roles; }",
+        "  public void setRoles(java.util.List<String> roles) { this.roles = roles; }",
+        "  public Integer getValue() { return value; }",
+        "  public void setValue(int value) { this.value = value; }",
+        "  public void setValue(Integer value) { this.value = value; }",
+        "  @Override public String getOwner() { return name; }",
+        "  public static int getCount() { return 0; }",
+        "  private int getSecret() { return 1; }",
+        "}");
+    write(sources.resolve("Plain.java"),
+        "package sample;",
+        "public class Plain {",
+        "  private int x;",
+        "  public int getX() { return x; }",
+        "  public void setX(int x) { this.x = x; }",
+        "}");
+
+    try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8);
+        Stream<Path> files = Files.list(sources)) {
+      List<File> sourceFiles = new ArrayList<>();
+      files.forEach(file -> sourceFiles.add(file.toFile()));
+      Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjectsFromFiles(sourceFiles);
+      String classpath = Paths.get(GenerateReflectorMetadata.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+      List<String> options = Arrays.asList("-d", classes.toString(), "-classpath", classpath,
+          "-A" + ReflectorMetadataProcessor.TYPES_OPTION + "=sample.Plain");
+      DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+      JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null, units);
+      task.setProcessors(Collections.singletonList(new ReflectorMetadataProcessor()));
+      assertTrue(task.call(), () -> "The sample classes should compile: " + diagnostics.getDiagnostics());
+    }
+    classLoader = new URLClassLoader(new URL[] { classes.toUri().toURL() }, getClass().getClassLoader());
+  }
+
+  @AfterEach
+  void cleanUp() throws IOException {
+    if (classLoader != null) {
+      classLoader.close();
+    }
+    if (directory != null) {
+      try (Stream<Path> files = Files.walk(directory)) {
+        files.sorted(Collections.reverseOrder()).map(Path::toFile).forEach(File::delete);
+      }
+    }
+  }
+
+  @Test
+  void shouldGenerateMetadataForAnnotatedAndListedTypes() {
+    assertTrue(Files.exists(metadataFile("sample.User")));
+    assertTrue(Files.exists(metadataFile("sample.Plain")));
+    assertFalse(Files.exists(metadataFile("sample.Base")));
+  }
+
+  @Test
+  void shouldReflectTheSameWayWithMetadata() throws Exception {
+    for (String typeName : new String[] { "sample.User", "sample.Plain" }) {
+      Class<?> type = classLoader.loadClass(typeName);
+      ReflectorMetadata metadata = ReflectorMetadata.load(type);
+      assertNotNull(metadata);
+      Reflector scanned = new Reflector(type, ReflectionInvokerFactory.INSTANCE, null);
+      Reflector precomputed = new Reflector(type, ReflectionInvokerFactory.INSTANCE, metadata);
+      assertEquals(asSet(scanned.getGetablePropertyNames()), asSet(precomputed.getGetablePropertyNames()));
+      assertEquals(asSet(scanned.getSetablePropertyNames()), asSet(precomputed.getSetablePropertyNames()));
+      for (String property : scanned.getGetablePropertyNames()) {
+        assertEquals(scanned.getGetterType(property), precomputed.getGetterType(property), property);
+      }
+      for (String property : scanned.getSetablePropertyNames()) {
+        assertEquals(scanned.getSetterType(property), precomputed.getSetterType(property), property);
+      }
+    }
+  }
+
+  @Test
+  void shouldPreferMetadataToScanning() throws Exception {
+    Path metadataFile = metadataFile("sample.Plain");
+    List<String> lines = new ArrayList<>(Files.readAllLines(metadataFile, StandardCharsets.UTF_8));
+    assertTrue(lines.remove(ReflectorMetadata.METHOD_PREFIX + "sample.Plain#setX(int)"));
+    assertTrue(lines.remove(ReflectorMetadata.FIELD_PREFIX + "sample.Plain#x"));
+    Files.write(metadataFile, lines, StandardCharsets.UTF_8);
+    Reflector reflector = metadataEnabledFactory().findForClass(classLoader.loadClass("sample.Plain"));
+    assertTrue(reflector.hasGetter("x"));
+    assertFalse(reflector.hasSetter("x"));
+  }
+
+  @Test
+  void shouldNotLookUpMetadataByDefault() throws Exception {
+    write(metadataFile("sample.Plain"), ReflectorMetadata.METHOD_PREFIX + "sample.Plain#getX()");
+    Reflector reflector = new DefaultReflectorFactory().findForClass(classLoader.loadClass("sample.Plain"));
+    assertTrue(reflector.hasSetter("x"));
+  }
+
+  @Test
+  void shouldScanWhenMetadataIsStale() throws Exception {
+    write(metadataFile("sample.Plain"), ReflectorMetadata.METHOD_PREFIX + "sample.Plain#getY()");
+    Class<?> type = classLoader.loadClass("sample.Plain");
+    assertNull(ReflectorMetadata.load(type));
+    Reflector reflector = metadataEnabledFactory().findForClass(type);
+    assertTrue(reflector.hasGetter("x"));
+    assertTrue(reflector.hasSetter("x"));
+  }
+
+  @Test
+  void shouldScanWhenTheClassChangedSinceTheMetadataWasGenerated() throws Exception {
+    Class<?> type = recompilePlain(
+        "  private int x;",
+        "  private int y;",
+        "  public int getX() { return x; }",
+        "  public void setX(int x) { this.x = x; }",
+        "  public int getY() { return y; }");
+    assertNull(ReflectorMetadata.load(type));
+    assertTrue(metadataEnabledFactory().findForClass(type).hasGetter("y"));
+  }
+
+  @Test
+  void shouldScanWhenAMemberChangedItsType() throws Exception {
+    // the listed getter and setter still resolve, only their types changed
+    Class<?> type = recompilePlain(
+        "  private long x;",
+        "  public long getX() { return x; }",
+        "  public void setX(int x) { this.x = x; }");
+    assertNull(ReflectorMetadata.load(type));
+    assertEquals(long.class, metadataEnabledFactory().findForClass(type).getGetterType("x"));
+  }
+
+  @Test
+  void shouldScanWhenMetadataHasNoStamp() throws Exception {
+    write(metadataFile("sample.Plain"), ReflectorMetadata.METHOD_PREFIX + "sample.Plain#getX()");
+    assertNull(ReflectorMetadata.load(classLoader.loadClass("sample.Plain")));
+  }
+
+  private Class<?> recompilePlain(String... members) throws Exception {
+    Path source = directory.resolve("src/sample/Plain.java");
+    List<String> lines = new ArrayList<>();
+    lines.add("package sample;");
+    lines.add("public class Plain {");
+    lines.addAll(Arrays.asList(members));
+    lines.add("}");
+    Files.write(source, lines, StandardCharsets.UTF_8);
+    assertEquals(0, ToolProvider.getSystemJavaCompiler().run(null, null, null, "-proc:none", "-d",
+        directory.resolve("classes").toString(), source.toString()));
+    classLoader.close();
+    classLoader = new URLClassLoader(new URL[] { directory.resolve("classes").toUri().toURL() }, getClass().getClassLoader());
+    return classLoader.loadClass("sample.Plain");
+  }
+
+  private static DefaultReflectorFactory metadataEnabledFactory() {
+    DefaultReflectorFactory reflectorFactory = new DefaultReflectorFactory();
+    reflectorFactory.setMetadataEnabled(true);
+    return reflectorFactory;
+  }
+
+  private Path metadataFile(String typeName) {
+    return directory.resolve("classes").resolve(ReflectorMetadata.RESOURCE_PREFIX + typeName);
+  }
+
+  private static Set<String> asSet(String[] names) {
+    return new HashSet<>(Arrays.asList(names));
+  }
+
+  private static void write(Path file, String... lines) throws IOException {
+    Files.write(file, Arrays.asList(lines), StandardCharsets.UTF_8);
+  }
+
+}
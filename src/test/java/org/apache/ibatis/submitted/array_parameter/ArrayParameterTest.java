@@ -0,0 +1,97 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.array_parameter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class ArrayParameterTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    // create an SqlSessionFactory
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/array_parameter/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+
+    // populate in-memory database
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+            "org/apache/ibatis/submitted/array_parameter/CreateDB.sql");
+  }
+
+  @Test
+  void shouldBindListAsArray() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      List<User> users = mapper.getUsersByIds(Arrays.asList(1, 3));
+      assertEquals(2, users.size());
+      assertEquals("User1", users.get(0).getName());
+      assertEquals("User3", users.get(1).getName());
+    }
+  }
+
+  @Test
+  void shouldBindPrimitiveArrayAsArray() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      List<User> users = mapper.getUsersByIdArray(new int[] { 2, 3 });
+      assertEquals(2, users.size());
+      assertEquals("User2", users.get(0).getName());
+      assertEquals("User3", users.get(1).getName());
+    }
+  }
+
+  @Test
+  void shouldBindListPropertyAsArray() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      UserCriteria criteria = new UserCriteria();
+      criteria.setIds(Collections.singletonList(2));
+      List<User> users = mapper.getUsersByCriteria(criteria);
+      assertEquals(1, users.size());
+      assertEquals("User2", users.get(0).getName());
+    }
+  }
+
+  @Test
+  void shouldProduceSameSqlRegardlessOfListSize() {
+    MappedStatement ms = sqlSessionFactory.getConfiguration()
+        .getMappedStatement("org.apache.ibatis.submitted.array_parameter.Mapper.getUsersByIds");
+    Map<String, Object> small = new HashMap<>();
+    small.put("ids", Collections.singletonList(1));
+    Map<String, Object> large = new HashMap<>();
+    large.put("ids", Arrays.asList(1, 2, 3));
+    assertEquals(ms.getBoundSql(small).getSql(), ms.getBoundSql(large).getSql());
+  }
+
+}
@@ -18,9 +18,16 @@ package org.apache.ibatis.submitted.array_result_type;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.Reader;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.executor.result.DefaultResultHandler;
 import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.LocalCacheScope;
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.apache.ibatis.session.SqlSessionFactoryBuilder;
@@ -48,6 +55,7 @@ class ArrayResultTypeTest {
     try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
       Mapper mapper = sqlSession.getMapper(Mapper.class);
       User[] users = mapper.getUsers();
+      assertEquals(2, users.length);
       assertEquals("User1", users[0].getName());
       assertEquals("User2", users[1].getName());
     }
@@ -80,4 +88,58 @@ class ArrayResultTypeTest {
       assertEquals(1, ids[0]);
     }
   }
+
+  @Test
+  void shouldGrowPrimitiveArray() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      int[] ids = mapper.getCrossJoinedUserIds();
+      assertEquals(16, ids.length);
+      assertEquals(24, Arrays.stream(ids).sum());
+    }
+  }
+
+  @Test
+  void shouldGetSet() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      Set<Integer> ids = mapper.getUserIdSet();
+      assertEquals(new HashSet<>(Arrays.asList(1, 2)), ids);
+    }
+  }
+
+  @Test
+  void shouldFeedRowsStraightIntoContainersWhenTheLocalCacheIsStatementScoped() {
+    Configuration configuration = sqlSessionFactory.getConfiguration();
+    configuration.setLocalCacheScope(LocalCacheScope.STATEMENT);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertEquals(16, mapper.getCrossJoinedUserIds().length);
+      assertEquals(new HashSet<>(Arrays.asList(1, 2)), mapper.getUserIdSet());
+      assertEquals(2, mapper.getUsers().length);
+    } finally {
+      configuration.setLocalCacheScope(LocalCacheScope.SESSION);
+    }
+  }
+
+  @Test
+  void shouldServeArraysFromTheLocalCache() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      User[] users = mapper.getUsers();
+      assertSame(users[0], mapper.getUsers()[0]);
+    }
+  }
+
+  @Test
+  void shouldNotCacheTheRowsOfAResultHandler() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      String statement = "org.apache.ibatis.submitted.array_result_type.Mapper.getUserIds";
+      DefaultResultHandler resultHandler = new DefaultResultHandler();
+      sqlSession.select(statement, resultHandler);
+      assertEquals(2, resultHandler.getResultList().size());
+      List<Integer> ids = sqlSession.selectList(statement);
+      assertEquals(2, ids.size());
+    }
+  }
 }
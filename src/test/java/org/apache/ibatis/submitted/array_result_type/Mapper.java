@@ -15,6 +15,8 @@
  */
 package org.apache.ibatis.submitted.array_result_type;
 
+import java.util.Set;
+
 import org.apache.ibatis.annotations.Select;
 
 public interface Mapper {
@@ -29,4 +31,10 @@ public interface Mapper {
 
   @Select("select id from users")
   int[] getUserIdsPrimitive();
+
+  @Select("select u1.id from users u1, users u2, users u3, users u4")
+  int[] getCrossJoinedUserIds();
+
+  @Select("select id from users")
+  Set<Integer> getUserIdSet();
 }
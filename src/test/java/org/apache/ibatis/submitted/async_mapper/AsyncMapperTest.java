@@ -0,0 +1,118 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.async_mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.Reader;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.binding.BindingException;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AsyncMapperTest {
+
+  private SqlSessionFactory sqlSessionFactory;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/async_mapper/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/async_mapper/CreateDB.sql");
+  }
+
+  @Test
+  void shouldRunIndependentQueriesConcurrently() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      CompletableFuture<User> user = mapper.getUser(1);
+      CompletableFuture<List<User>> users = mapper.getUsers();
+      CompletableFuture<Map<Integer, User>> userMap = mapper.getUserMap();
+      assertEquals("User1", user.join().getName());
+      assertEquals(2, users.join().size());
+      assertEquals("User2", userMap.join().get(2).getName());
+      assertTrue(mapper.findUser(2).join().isPresent());
+      assertFalse(mapper.findUser(3).join().isPresent());
+    }
+  }
+
+  @Test
+  void shouldCommitUpdatesInTheirOwnSession() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      User user = new User("User3");
+      user.setId(3);
+      assertEquals(Integer.valueOf(1), mapper.insertUser(user).join());
+      assertEquals(3, countUsers());
+      mapper.deleteUser(1).join();
+      assertEquals(2, countUsers());
+    }
+  }
+
+  private int countUsers() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      return sqlSession.getMapper(Mapper.class).countUsers();
+    }
+  }
+
+  @Test
+  void shouldRunOnTheConfiguredExecutor() {
+    Thread[] threads = new Thread[1];
+    Executor executor = command -> {
+      threads[0] = new Thread(command, "custom");
+      threads[0].start();
+    };
+    sqlSessionFactory.getConfiguration().setAsyncExecutor(executor);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertEquals("User2", mapper.getUser(2).join().getName());
+      assertEquals("custom", threads[0].getName());
+      assertNotEquals(Thread.currentThread(), threads[0]);
+    }
+  }
+
+  @Test
+  void shouldBoundTheDefaultExecutor() {
+    Executor executor = sqlSessionFactory.getConfiguration().getAsyncExecutor();
+    assertTrue(executor instanceof ThreadPoolExecutor);
+    assertEquals(10, ((ThreadPoolExecutor) executor).getMaximumPoolSize());
+  }
+
+  @Test
+  void shouldNotReturnCursorAsynchronously() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertThrows(BindingException.class, mapper::getUserCursor);
+    }
+  }
+
+}
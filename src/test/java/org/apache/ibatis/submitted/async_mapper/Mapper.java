@@ -0,0 +1,56 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.async_mapper;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.MapKey;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.cursor.Cursor;
+
+public interface Mapper {
+
+  @Select("select id, name from users where id = #{id}")
+  CompletableFuture<User> getUser(int id);
+
+  @Select("select id, name from users where id = #{id}")
+  CompletableFuture<Optional<User>> findUser(int id);
+
+  @Select("select id, name from users order by id")
+  CompletableFuture<List<User>> getUsers();
+
+  @Select("select id, name from users order by id")
+  @MapKey("id")
+  CompletableFuture<Map<Integer, User>> getUserMap();
+
+  @Select("select id, name from users order by id")
+  CompletableFuture<Cursor<User>> getUserCursor();
+
+  @Insert("insert into users (id, name) values (#{id}, #{name})")
+  CompletableFuture<Integer> insertUser(User user);
+
+  @Delete("delete from users where id = #{id}")
+  CompletableFuture<Void> deleteUser(int id);
+
+  @Select("select count(*) from users")
+  int countUsers();
+
+}
@@ -0,0 +1,141 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.batch_flush;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.Reader;
+import java.util.List;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.BatchResultRetention;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BatchFlushTest {
+
+  private SqlSessionFactory sqlSessionFactory;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/batch_flush/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/batch_flush/CreateDB.sql");
+  }
+
+  @Test
+  void shouldFlushWhenStatementRowsAreReached() {
+    sqlSessionFactory.getConfiguration().setBatchFlushStatementRows(3);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      insertUsers(mapper, 7);
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertEquals(3, results.size());
+      assertEquals(3, results.get(0).getParameterObjects().size());
+      assertEquals(3, results.get(1).getParameterObjects().size());
+      assertEquals(1, results.get(2).getParameterObjects().size());
+      assertEquals(7, mapper.countUsers());
+    }
+  }
+
+  @Test
+  void shouldFlushWhenPendingRowsAreReached() {
+    sqlSessionFactory.getConfiguration().setBatchFlushPendingRows(4);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      insertUsers(mapper, 8);
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertEquals(2, results.size());
+      assertEquals(4, results.get(0).getUpdateCounts().length);
+      assertEquals(4, results.get(1).getUpdateCounts().length);
+      assertEquals(8, mapper.countUsers());
+    }
+  }
+
+  @Test
+  void shouldFlushWhenPendingBytesAreReached() {
+    sqlSessionFactory.getConfiguration().setBatchFlushPendingBytes(1000L);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      insertUsers(mapper, 50);
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertTrue(results.size() > 1);
+      assertEquals(50, results.stream().mapToInt(result -> result.getUpdateCounts().length).sum());
+      assertEquals(50, mapper.countUsers());
+    }
+  }
+
+  @Test
+  void shouldKeepUpdateCountsOnly() {
+    Configuration configuration = sqlSessionFactory.getConfiguration();
+    configuration.setBatchFlushStatementRows(2);
+    configuration.setBatchResultRetention(BatchResultRetention.UPDATE_COUNTS);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      insertUsers(mapper, 5);
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertEquals(3, results.size());
+      assertTrue(results.get(0).getParameterObjects().isEmpty());
+      assertEquals(2, results.get(0).getUpdateCounts().length);
+      assertTrue(results.get(1).getParameterObjects().isEmpty());
+      assertEquals(1, results.get(2).getParameterObjects().size());
+    }
+  }
+
+  @Test
+  void shouldDiscardFlushedResults() {
+    Configuration configuration = sqlSessionFactory.getConfiguration();
+    configuration.setBatchFlushStatementRows(2);
+    configuration.setBatchResultRetention(BatchResultRetention.NONE);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      insertUsers(mapper, 5);
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertEquals(1, results.size());
+      assertEquals(1, results.get(0).getParameterObjects().size());
+      assertEquals(5, mapper.countUsers());
+    }
+  }
+
+  @Test
+  void shouldRollbackAutomaticallyFlushedBatches() {
+    sqlSessionFactory.getConfiguration().setBatchFlushStatementRows(2);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      insertUsers(sqlSession.getMapper(Mapper.class), 5);
+      sqlSession.rollback();
+    }
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertEquals(0, sqlSession.getMapper(Mapper.class).countUsers());
+    }
+  }
+
+  private void insertUsers(Mapper mapper, int count) {
+    for (int i = 1; i <= count; i++) {
+      mapper.insertUser(i, "user" + i);
+    }
+  }
+
+}
@@ -0,0 +1,148 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.batch_grouping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.Reader;
+import java.util.List;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.BatchGrouping;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BatchGroupingTest {
+
+  private SqlSessionFactory sqlSessionFactory;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/batch_grouping/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/batch_grouping/CreateDB.sql");
+  }
+
+  @Test
+  void shouldStartNewBatchForEachSwitchByDefault() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      insertParentsAndChildren(mapper);
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertEquals(6, results.size());
+      assertEquals(3, mapper.countChildren());
+    }
+  }
+
+  @Test
+  void shouldGroupInterleavedInsertsByStatement() {
+    sqlSessionFactory.getConfiguration().setBatchGrouping(BatchGrouping.COMMAND_TYPE);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      insertParentsAndChildren(mapper);
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertEquals(2, results.size());
+      assertEquals("org.apache.ibatis.submitted.batch_grouping.Mapper.insertParent", results.get(0).getMappedStatement().getId());
+      assertEquals(3, results.get(0).getUpdateCounts().length);
+      assertEquals("org.apache.ibatis.submitted.batch_grouping.Mapper.insertChild", results.get(1).getMappedStatement().getId());
+      assertEquals(3, results.get(1).getUpdateCounts().length);
+      assertEquals(3, mapper.countChildren());
+    }
+  }
+
+  @Test
+  void shouldNotGroupAcrossCommandTypes() {
+    sqlSessionFactory.getConfiguration().setBatchGrouping(BatchGrouping.COMMAND_TYPE);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      mapper.insertChild(1, 1, "child1");
+      mapper.deleteChildren(1);
+      mapper.insertChild(2, 1, "child2");
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertEquals(3, results.size());
+      assertEquals(1, mapper.countChildren());
+    }
+  }
+
+  @Test
+  void shouldNotGroupUpdatesByCommandType() {
+    sqlSessionFactory.getConfiguration().setBatchGrouping(BatchGrouping.COMMAND_TYPE);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      insertParentsAndChildren(mapper);
+      sqlSession.flushStatements();
+      mapper.renameChild(1, "detached");
+      mapper.detachChildren("detached");
+      // would be detached too if it joined the batch of the first rename
+      mapper.renameChild(2, "detached");
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertEquals(3, results.size());
+      assertEquals(1, mapper.countDetachedChildren());
+    }
+  }
+
+  @Test
+  void shouldGroupAcrossCommandTypesByStatement() {
+    sqlSessionFactory.getConfiguration().setBatchGrouping(BatchGrouping.STATEMENT);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      mapper.insertChild(1, 1, "child1");
+      mapper.deleteChildren(2);
+      mapper.insertChild(2, 1, "child2");
+      mapper.deleteChildren(3);
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertEquals(2, results.size());
+      assertEquals(2, results.get(0).getUpdateCounts().length);
+      assertEquals(2, results.get(1).getUpdateCounts().length);
+      assertEquals(2, mapper.countChildren());
+    }
+  }
+
+  @Test
+  void shouldKeepAddingToTheJoinedBatch() {
+    sqlSessionFactory.getConfiguration().setBatchGrouping(BatchGrouping.STATEMENT);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      mapper.insertParent(1, "parent1");
+      mapper.insertChild(1, 1, "child1");
+      // joins the batch of the first parent, the next one has to follow it there
+      mapper.insertParent(2, "parent2");
+      mapper.insertParent(3, "parent3");
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertEquals(2, results.size());
+      assertEquals("org.apache.ibatis.submitted.batch_grouping.Mapper.insertParent", results.get(0).getMappedStatement().getId());
+      assertEquals(3, results.get(0).getUpdateCounts().length);
+      assertEquals(1, results.get(1).getUpdateCounts().length);
+      assertEquals(1, mapper.countChildren());
+    }
+  }
+
+  private void insertParentsAndChildren(Mapper mapper) {
+    for (int i = 1; i <= 3; i++) {
+      mapper.insertParent(i, "parent" + i);
+      mapper.insertChild(i, i, "child" + i);
+    }
+  }
+
+}
@@ -0,0 +1,107 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.batch_multi_row_insert;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MultiRowInsertTest {
+
+  private SqlSessionFactory sqlSessionFactory;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/batch_multi_row_insert/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    sqlSessionFactory.getConfiguration().setBatchMultiRowInsertSize(8);
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/batch_multi_row_insert/CreateDB.sql");
+  }
+
+  @Test
+  void shouldInsertAllRowsAndAssignGeneratedKeys() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      List<User> users = new ArrayList<>();
+      for (int i = 1; i <= 21; i++) {
+        User user = new User("user" + i);
+        users.add(user);
+        mapper.insertUser(user);
+      }
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertEquals(1, results.size());
+      assertEquals(21, results.get(0).getUpdateCounts().length);
+      for (int i = 0; i < users.size(); i++) {
+        assertEquals(Integer.valueOf(i + 1), users.get(i).getId());
+      }
+      List<User> inserted = mapper.getUsers();
+      assertEquals(21, inserted.size());
+      for (int i = 0; i < inserted.size(); i++) {
+        assertEquals(Integer.valueOf(i + 1), inserted.get(i).getId());
+        assertEquals("user" + (i + 1), inserted.get(i).getName());
+      }
+    }
+  }
+
+  @Test
+  void shouldInsertTheValuesEachRowHadWhenItWasQueued() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      User user = new User();
+      for (int i = 1; i <= 10; i++) {
+        user.setName("user" + i);
+        mapper.insertUser(user);
+      }
+      user.setName("changed");
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertEquals(10, results.get(0).getUpdateCounts().length);
+      List<User> inserted = mapper.getUsers();
+      assertEquals(10, inserted.size());
+      for (int i = 0; i < inserted.size(); i++) {
+        assertEquals("user" + (i + 1), inserted.get(i).getName());
+      }
+    }
+  }
+
+  @Test
+  void shouldInsertRowByRowWhenStatementCannotBeRewritten() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      for (int i = 1; i <= 3; i++) {
+        mapper.insertUserBySelect(new User("user" + i));
+      }
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertEquals(1, results.size());
+      assertEquals(3, results.get(0).getUpdateCounts().length);
+      assertEquals(3, mapper.getUsers().size());
+    }
+  }
+
+}
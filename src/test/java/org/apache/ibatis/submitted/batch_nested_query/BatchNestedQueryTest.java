@@ -0,0 +1,146 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.batch_nested_query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.ResultMapping;
+import org.apache.ibatis.session.LocalCacheScope;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BatchNestedQueryTest {
+
+  private SqlSessionFactory sqlSessionFactory;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/batch_nested_query/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/batch_nested_query/CreateDB.sql");
+    QueryCounter.QUERIES.clear();
+  }
+
+  @Test
+  void shouldLoadNestedQueriesOfAllRowsInBatches() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Blog> blogs = sqlSession.getMapper(Mapper.class).selectBlogs();
+      assertEquals(4, blogs.size());
+      assertEquals("Author1", blogs.get(0).getAuthor().getName());
+      assertEquals("Author2", blogs.get(1).getAuthor().getName());
+      assertEquals("Author3", blogs.get(2).getAuthor().getName());
+      assertSame(blogs.get(0).getAuthor(), blogs.get(3).getAuthor());
+      assertEquals(2, blogs.get(0).getPosts().size());
+      assertEquals("Post2", blogs.get(0).getPosts().get(1).getSubject());
+      assertEquals(1, blogs.get(1).getPosts().size());
+      assertTrue(blogs.get(2).getPosts().isEmpty());
+      assertTrue(blogs.get(3).getPosts().isEmpty());
+      // three distinct authors in batches of two, four blogs in one batch of posts
+      assertEquals(2, QueryCounter.count("author"));
+      assertEquals(1, QueryCounter.count("post"));
+    }
+  }
+
+  @Test
+  void shouldLoadNestedQueriesOfArraysInBatches() {
+    sqlSessionFactory.getConfiguration().setLocalCacheScope(LocalCacheScope.STATEMENT);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Blog[] blogs = sqlSession.getMapper(Mapper.class).selectBlogArray();
+      assertEquals(4, blogs.length);
+      assertEquals(2, blogs[0].getPosts().size());
+      assertEquals(1, QueryCounter.count("post"));
+    }
+  }
+
+  @Test
+  void shouldLoadEachRowWhenRowsAreNotCollected() throws Exception {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession();
+         Cursor<Blog> cursor = sqlSession.getMapper(Mapper.class).selectBlogCursor()) {
+      List<Blog> blogs = new ArrayList<>();
+      cursor.forEach(blogs::add);
+      assertEquals(4, blogs.size());
+      assertEquals("Author3", blogs.get(2).getAuthor().getName());
+      assertEquals(2, blogs.get(0).getPosts().size());
+      assertEquals(4, QueryCounter.count("post"));
+    }
+  }
+
+  @Test
+  void shouldLoadBatchesOfAnnotatedMappings() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Blog> blogs = sqlSession.getMapper(Mapper.class).selectBlogsWithPosts();
+      assertEquals(4, blogs.size());
+      assertNull(blogs.get(0).getAuthor());
+      assertEquals(2, blogs.get(0).getPosts().size());
+      assertEquals("Post3", blogs.get(1).getPosts().get(0).getSubject());
+      assertTrue(blogs.get(3).getPosts().isEmpty());
+      assertEquals(2, QueryCounter.count("post"));
+    }
+  }
+
+  @Test
+  void shouldLoadLazySiblingsInBatches() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Blog> blogs = sqlSession.getMapper(Mapper.class).selectLazyBlogs();
+      assertEquals(4, blogs.size());
+      assertEquals(0, QueryCounter.count("post"));
+      assertEquals(2, blogs.get(0).getPosts().size());
+      assertEquals(1, QueryCounter.count("post"));
+      // loaded with the first blog
+      assertEquals("Post3", blogs.get(1).getPosts().get(0).getSubject());
+      assertEquals(1, QueryCounter.count("post"));
+      assertTrue(blogs.get(3).getPosts().isEmpty());
+      assertEquals(2, QueryCounter.count("post"));
+      assertTrue(blogs.get(2).getPosts().isEmpty());
+      assertEquals(2, QueryCounter.count("post"));
+    }
+  }
+
+  @Test
+  void shouldLoadLazySiblingsAfterTheSessionIsClosed() {
+    List<Blog> blogs;
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      blogs = sqlSession.getMapper(Mapper.class).selectLazyBlogs();
+    }
+    assertEquals(1, blogs.get(1).getPosts().size());
+    assertEquals(2, blogs.get(0).getPosts().size());
+    assertEquals(1, QueryCounter.count("post"));
+  }
+
+  @Test
+  void shouldRequireCompositeColumnForBatches() {
+    ResultMapping.Builder builder = new ResultMapping.Builder(sqlSessionFactory.getConfiguration(), "posts", "id", List.class)
+        .nestedQueryId("selectPosts").batchSize(10);
+    assertThrows(IllegalStateException.class, builder::build);
+  }
+
+}
@@ -0,0 +1,152 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.batch_pipeline;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BatchPipelineTest {
+
+  private SqlSessionFactory sqlSessionFactory;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/batch_pipeline/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    Configuration configuration = sqlSessionFactory.getConfiguration();
+    configuration.setBatchFlushPendingRows(10);
+    configuration.setBatchPipelineDepth(2);
+    BaseDataTest.runScript(configuration.getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/batch_pipeline/CreateDB.sql");
+  }
+
+  @Test
+  void shouldExecuteAllBatchesInOrder() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      for (int i = 1; i <= 95; i++) {
+        mapper.insertUser(i, "user" + i);
+      }
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertEquals(10, results.size());
+      for (int i = 0; i < 9; i++) {
+        assertEquals(10, results.get(i).getUpdateCounts().length);
+        assertEquals(i * 10 + 1, ((Map<?, ?>) results.get(i).getParameterObjects().get(0)).get("id"));
+      }
+      assertEquals(5, results.get(9).getUpdateCounts().length);
+      sqlSession.commit();
+      assertEquals(95, mapper.countUsers());
+    }
+  }
+
+  @Test
+  void shouldWaitForPipelinedBatchesBeforeQuerying() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      for (int i = 1; i <= 25; i++) {
+        mapper.insertUser(i, "user" + i);
+      }
+      assertEquals(25, mapper.countUsers());
+    }
+  }
+
+  @Test
+  void shouldBindTheValuesEachExecutionHadWhenItWasAdded() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      Map<String, Object> user = new HashMap<>();
+      for (int i = 1; i <= 25; i++) {
+        user.put("id", i);
+        user.put("name", "user" + i);
+        mapper.insertUserMap(user);
+      }
+      user.put("name", "changed");
+      sqlSession.flushStatements();
+      for (int i = 1; i <= 25; i++) {
+        assertEquals("user" + i, mapper.getName(i));
+      }
+    }
+  }
+
+  @Test
+  void shouldExecuteBatchesTheAsyncExecutorDidNotStart() {
+    List<Runnable> tasks = new ArrayList<>();
+    sqlSessionFactory.getConfiguration().setAsyncExecutor(tasks::add);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      for (int i = 1; i <= 45; i++) {
+        mapper.insertUser(i, "user" + i);
+      }
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertEquals(5, results.size());
+      assertEquals(4, tasks.size());
+      assertEquals(45, mapper.countUsers());
+    }
+  }
+
+  @Test
+  void shouldWaitForPipelinedBatchesBeforeBindingStatementsThatCannotBeKept() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      for (int i = 1; i <= 60; i += 2) {
+        mapper.insertUser(i, "user" + i);
+        mapper.insertUserStatement(i + 1, "user" + (i + 1));
+      }
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertEquals(60, results.size());
+      assertEquals(60, mapper.countUsers());
+      assertEquals("user60", mapper.getName(60));
+    }
+  }
+
+  @Test
+  void shouldReportFailedBatchesAndRollback() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertThrows(PersistenceException.class, () -> {
+        for (int i = 1; i <= 50; i++) {
+          // the 15th row duplicates the 5th one
+          mapper.insertUser(i == 15 ? 5 : i, "user" + i);
+        }
+        sqlSession.flushStatements();
+      });
+      sqlSession.rollback();
+    }
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertEquals(0, sqlSession.getMapper(Mapper.class).countUsers());
+    }
+  }
+
+}
@@ -0,0 +1,44 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.batch_pipeline;
+
+import java.util.Map;
+
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.mapping.StatementType;
+
+public interface Mapper {
+
+  @Insert("insert into users (id, name) values (#{id}, #{name})")
+  void insertUser(@Param("id") int id, @Param("name") String name);
+
+  @Insert("insert into users (id, name) values (#{id}, #{name})")
+  void insertUserMap(Map<String, Object> user);
+
+  @Insert("insert into users (id, name) values (${id}, '${name}')")
+  @Options(statementType = StatementType.STATEMENT)
+  void insertUserStatement(@Param("id") int id, @Param("name") String name);
+
+  @Select("select name from users where id = #{id}")
+  String getName(int id);
+
+  @Select("select count(*) from users")
+  int countUsers();
+
+}
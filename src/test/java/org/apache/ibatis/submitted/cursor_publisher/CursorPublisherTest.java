@@ -0,0 +1,183 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.cursor_publisher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.Reader;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.binding.BindingException;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CursorPublisherTest {
+
+  private SqlSessionFactory sqlSessionFactory;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/cursor_publisher/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/cursor_publisher/CreateDB.sql");
+  }
+
+  @Test
+  void shouldEmitRowsOnDemand() throws Exception {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Flow.Publisher<User> publisher = sqlSession.getMapper(Mapper.class).getUsers();
+      TestSubscriber subscriber = new TestSubscriber();
+      publisher.subscribe(subscriber);
+      assertTrue(subscriber.subscribed.await(5, TimeUnit.SECONDS));
+      Thread.sleep(50);
+      assertTrue(subscriber.users.isEmpty());
+
+      subscriber.request(2);
+      subscriber.awaitRows(2);
+      Thread.sleep(50);
+      assertEquals(2, subscriber.users.size());
+      assertFalse(subscriber.completed);
+
+      subscriber.request(Long.MAX_VALUE);
+      assertTrue(subscriber.terminated.await(5, TimeUnit.SECONDS));
+      assertTrue(subscriber.completed);
+      assertEquals(5, subscriber.users.size());
+      assertEquals("User5", subscriber.users.get(4).getName());
+    }
+  }
+
+  @Test
+  void shouldStopEmittingWhenCancelled() throws Exception {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Flow.Publisher<User> publisher = sqlSession.getMapper(Mapper.class).getUsers();
+      TestSubscriber subscriber = new TestSubscriber() {
+        @Override
+        public void onNext(User item) {
+          super.onNext(item);
+          subscription.cancel();
+        }
+      };
+      publisher.subscribe(subscriber);
+      subscriber.request(3);
+      subscriber.awaitRows(1);
+      Thread.sleep(50);
+      assertEquals(1, subscriber.users.size());
+      assertFalse(subscriber.completed);
+      assertEquals(1, subscriber.terminated.getCount());
+
+      // every subscriber gets a fresh query
+      TestSubscriber another = new TestSubscriber();
+      publisher.subscribe(another);
+      another.request(Long.MAX_VALUE);
+      assertTrue(another.terminated.await(5, TimeUnit.SECONDS));
+      assertEquals(5, another.users.size());
+    }
+  }
+
+  @Test
+  void shouldApplyRowBounds() throws Exception {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      TestSubscriber subscriber = new TestSubscriber();
+      sqlSession.getMapper(Mapper.class).getUserPage(new RowBounds(1, 2)).subscribe(subscriber);
+      subscriber.request(1);
+      subscriber.awaitRows(1);
+      subscriber.request(10);
+      assertTrue(subscriber.terminated.await(5, TimeUnit.SECONDS));
+      assertEquals(2, subscriber.users.size());
+      assertEquals(Integer.valueOf(2), subscriber.users.get(0).getId());
+    }
+  }
+
+  @Test
+  void shouldSignalErrorOnNonPositiveRequest() throws Exception {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      TestSubscriber subscriber = new TestSubscriber();
+      sqlSession.getMapper(Mapper.class).getUsers().subscribe(subscriber);
+      subscriber.request(0);
+      assertTrue(subscriber.terminated.await(5, TimeUnit.SECONDS));
+      assertTrue(subscriber.error instanceof IllegalArgumentException);
+    }
+  }
+
+  @Test
+  void shouldRejectUnsupportedPublishers() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertThrows(BindingException.class, mapper::getUserLists);
+      assertThrows(BindingException.class, mapper::deleteUsers);
+    }
+  }
+
+  static class TestSubscriber implements Flow.Subscriber<User> {
+
+    final List<User> users = new CopyOnWriteArrayList<>();
+    final CountDownLatch subscribed = new CountDownLatch(1);
+    final CountDownLatch terminated = new CountDownLatch(1);
+    volatile Flow.Subscription subscription;
+    volatile boolean completed;
+    volatile Throwable error;
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      this.subscription = subscription;
+      subscribed.countDown();
+    }
+
+    @Override
+    public void onNext(User item) {
+      users.add(item);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      error = throwable;
+      terminated.countDown();
+    }
+
+    @Override
+    public void onComplete() {
+      completed = true;
+      terminated.countDown();
+    }
+
+    void request(long n) {
+      subscription.request(n);
+    }
+
+    void awaitRows(int rows) throws InterruptedException {
+      long deadline = System.currentTimeMillis() + 5000;
+      while (users.size() < rows && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,39 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.cursor_publisher;
+
+import java.util.List;
+import java.util.concurrent.Flow;
+
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.session.RowBounds;
+
+public interface Mapper {
+
+  @Select("select id, name from users order by id")
+  Flow.Publisher<User> getUsers();
+
+  @Select("select id, name from users order by id")
+  Flow.Publisher<User> getUserPage(RowBounds rowBounds);
+
+  @Select("select id, name from users order by id")
+  Flow.Publisher<List<User>> getUserLists();
+
+  @Delete("delete from users")
+  Flow.Publisher<Integer> deleteUsers();
+
+}
@@ -0,0 +1,90 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.cursor_stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.cursor.defaults.CursorSpliterator;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class CursorStreamTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    // create an SqlSessionFactory
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/cursor_stream/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+
+    // populate in-memory database
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/cursor_stream/CreateDB.sql");
+  }
+
+  @Test
+  void shouldStreamAllUsers() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      try (Stream<User> users = mapper.streamAllUsers()) {
+        List<String> names = users.map(User::getName).collect(Collectors.toList());
+        assertEquals(Arrays.asList("User1", "User2", "User3", "User4", "User5"), names);
+      }
+    }
+  }
+
+  @Test
+  void shouldFetchOnlyTheRowsTheStreamAsksFor() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Cursor<User> cursor = sqlSession.getMapper(Mapper.class).getAllUsers();
+      try (Stream<User> users = CursorSpliterator.newStream(cursor)) {
+        assertFalse(cursor.isOpen());
+        Optional<User> user = users.filter(u -> u.getId() == 2).findFirst();
+        assertEquals("User2", user.get().getName());
+        assertEquals(1, cursor.getCurrentIndex());
+      }
+    }
+  }
+
+  @Test
+  void shouldCloseTheCursorWithTheStream() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Cursor<User> cursor = sqlSession.getMapper(Mapper.class).getAllUsers();
+      Stream<User> users = CursorSpliterator.newStream(cursor);
+      assertEquals("User1", users.findFirst().get().getName());
+      assertTrue(cursor.isOpen());
+      users.close();
+      assertFalse(cursor.isOpen());
+      assertFalse(cursor.isConsumed());
+    }
+  }
+
+}
@@ -71,4 +71,27 @@ class DefaultMethodTest {
       assertEquals("User1", user.getName());
     }
   }
+
+  @Test
+  void shouldInvokeDefaultMethodsWithPrimitivesOrWithoutArguments() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertEquals("User1", mapper.defaultGetUserName(1));
+      assertNull(mapper.defaultGetUserName(2));
+      assertTrue(mapper.defaultHasFirstUser());
+    }
+  }
+
+  @Test
+  void shouldInvokeDefaultMethodOnEachProxy() {
+    // the proxies share the invokers of their mapper interface
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(); SqlSession otherSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      Mapper otherMapper = otherSession.getMapper(Mapper.class);
+      assertEquals("User1", mapper.defaultGetUserName(1));
+      otherSession.close();
+      assertEquals("User1", mapper.defaultGetUserName(1));
+      assertThrows(Exception.class, () -> otherMapper.defaultGetUserName(1));
+    }
+  }
 }
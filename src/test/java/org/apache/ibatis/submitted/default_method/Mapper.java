@@ -30,6 +30,15 @@ public interface Mapper {
     return getUserById((Integer) args[0]);
   }
 
+  default String defaultGetUserName(int id) {
+    User user = getUserById(id);
+    return user == null ? null : user.getName();
+  }
+
+  default boolean defaultHasFirstUser() {
+    return getUserById(1) != null;
+  }
+
   static interface SubMapper extends Mapper {
     default User defaultGetUser(Object... args) {
       return getUserByIdAndName((String) args[0], (Integer) args[1]);
@@ -0,0 +1,49 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.parallel_nested_query;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Many;
+import org.apache.ibatis.annotations.One;
+import org.apache.ibatis.annotations.Result;
+import org.apache.ibatis.annotations.Results;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.mapping.FetchType;
+
+public interface Mapper {
+
+  @Select("select id, name from parent order by id")
+  @Results(id = "parentMap", value = {
+      @Result(property = "id", column = "id", id = true),
+      @Result(property = "children", column = "id", many = @Many(select = "getChildren", fetchType = FetchType.EAGER)),
+      @Result(property = "childCount", column = "id", one = @One(select = "countChildren", fetchType = FetchType.EAGER))
+  })
+  List<Parent> getParents();
+
+  @Select("select p.id, p.name from parent p join child c on c.parent_id = p.id order by c.id")
+  @Results({
+      @Result(property = "children", column = "id", many = @Many(select = "getChildren", fetchType = FetchType.EAGER))
+  })
+  List<Parent> getParentOfEachChild();
+
+  @Select("select id, name from child where parent_id = #{parentId} order by id")
+  List<Child> getChildren(int parentId);
+
+  @Select("select count(*) from child where parent_id = #{parentId}")
+  int countChildren(int parentId);
+
+}
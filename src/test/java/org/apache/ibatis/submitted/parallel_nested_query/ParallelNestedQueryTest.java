@@ -0,0 +1,131 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.parallel_nested_query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.Reader;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ParallelNestedQueryTest {
+
+  private SqlSessionFactory sqlSessionFactory;
+  private ExecutorService executorService;
+  private final AtomicInteger submittedQueries = new AtomicInteger();
+  private final AtomicInteger runningQueries = new AtomicInteger();
+  private final AtomicInteger maxRunningQueries = new AtomicInteger();
+
+  @BeforeEach
+  void setUp() throws Exception {
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/parallel_nested_query/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/parallel_nested_query/CreateDB.sql");
+    executorService = Executors.newFixedThreadPool(4);
+    sqlSessionFactory.getConfiguration().setAsyncExecutor(command -> {
+      submittedQueries.incrementAndGet();
+      executorService.execute(() -> {
+        maxRunningQueries.accumulateAndGet(runningQueries.incrementAndGet(), Math::max);
+        try {
+          command.run();
+        } finally {
+          runningQueries.decrementAndGet();
+        }
+      });
+    });
+  }
+
+  @AfterEach
+  void tearDown() {
+    executorService.shutdown();
+  }
+
+  @Test
+  void shouldLoadNestedQueriesOnTheAsyncExecutor() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(true)) {
+      List<Parent> parents = sqlSession.getMapper(Mapper.class).getParents();
+      assertEquals(3, parents.size());
+      assertEquals(2, parents.get(0).getChildren().size());
+      assertEquals("Child2", parents.get(0).getChildren().get(1).getName());
+      assertEquals(2, parents.get(0).getChildCount());
+      assertEquals(1, parents.get(1).getChildren().size());
+      assertEquals(1, parents.get(1).getChildCount());
+      assertTrue(parents.get(2).getChildren().isEmpty());
+      assertEquals(0, parents.get(2).getChildCount());
+      assertEquals(6, submittedQueries.get());
+    }
+  }
+
+  @Test
+  void shouldShareLoadsOfTheSameNestedQuery() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(true)) {
+      List<Parent> parents = sqlSession.getMapper(Mapper.class).getParentOfEachChild();
+      assertEquals(3, parents.size());
+      assertSame(parents.get(0).getChildren(), parents.get(1).getChildren());
+      assertEquals(1, parents.get(2).getChildren().size());
+      assertEquals(2, submittedQueries.get());
+    }
+  }
+
+  @Test
+  void shouldNotRunMoreNestedQueriesThanTheLimit() {
+    sqlSessionFactory.getConfiguration().setParallelNestedQueryLimit(1);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(true)) {
+      List<Parent> parents = sqlSession.getMapper(Mapper.class).getParents();
+      assertEquals(2, parents.get(0).getChildren().size());
+      assertEquals(1, parents.get(1).getChildren().size());
+      assertTrue(parents.get(2).getChildren().isEmpty());
+      assertEquals(6, submittedQueries.get());
+      assertEquals(1, maxRunningQueries.get());
+    }
+  }
+
+  @Test
+  void shouldLoadSequentiallyInTransactions() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Parent> parents = sqlSession.getMapper(Mapper.class).getParents();
+      assertEquals(2, parents.get(0).getChildren().size());
+      assertEquals(2, parents.get(0).getChildCount());
+      assertEquals(0, submittedQueries.get());
+    }
+  }
+
+  @Test
+  void shouldLoadSequentiallyWhenDisabled() {
+    sqlSessionFactory.getConfiguration().setParallelNestedQueryEnabled(false);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(true)) {
+      List<Parent> parents = sqlSession.getMapper(Mapper.class).getParents();
+      assertEquals(2, parents.get(0).getChildren().size());
+      assertEquals(0, submittedQueries.get());
+    }
+  }
+
+}
@@ -0,0 +1,87 @@
+/**
+ *    Copyright 2009-2019 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.warm_up;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.Reader;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.binding.BindingException;
+import org.apache.ibatis.binding.MapperProxyFactory;
+import org.apache.ibatis.builder.xml.XMLConfigBuilder;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class WarmUpTest {
+
+  private Configuration configuration;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/warm_up/mybatis-config.xml")) {
+      configuration = new XMLConfigBuilder(reader).parse();
+    }
+    BaseDataTest.runScript(configuration.getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/warm_up/CreateDB.sql");
+  }
+
+  @Test
+  void shouldCreateReflectorsWhenTheFactoryIsBuilt() {
+    RecordingReflectorFactory reflectorFactory = (RecordingReflectorFactory) configuration.getReflectorFactory();
+    assertFalse(reflectorFactory.getTypes().contains(Profile.class));
+    new SqlSessionFactoryBuilder().build(configuration);
+    assertTrue(reflectorFactory.getTypes().contains(Profile.class));
+  }
+
+  @Test
+  void shouldCacheTheBoundMapperMethods() {
+    MapperProxyFactory<Mapper> mapperProxyFactory = new MapperProxyFactory<>(Mapper.class);
+    mapperProxyFactory.cacheMapperMethods(configuration);
+    Set<String> methodNames = mapperProxyFactory.getMethodCache().keySet().stream().map(method -> method.getName())
+        .collect(Collectors.toSet());
+    assertEquals(3, methodNames.size());
+    assertTrue(methodNames.contains("getUser"));
+    assertTrue(methodNames.contains("findUsers"));
+    assertTrue(methodNames.contains("getProfile"));
+  }
+
+  @Test
+  void shouldRunMapperMethodsAfterWarmUp() {
+    SqlSessionFactory sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertEquals("User1", mapper.getUser(1).getName());
+      assertEquals("User1", mapper.getProfile(1).getName());
+      User example = new User();
+      example.setName("User2");
+      assertEquals(Integer.valueOf(2), mapper.findUsers(example).get(0).getId());
+      assertEquals("User1", mapper.getFirstUser().getName());
+      assertThrows(BindingException.class, () -> mapper.getUnboundUser(1));
+    }
+  }
+
+}
@@ -19,9 +19,12 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 
 import java.sql.Array;
+import java.sql.Connection;
+import java.util.Arrays;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -32,6 +35,9 @@ class ArrayTypeHandlerTest extends BaseTypeHandlerTest {
   @Mock
   Array mockArray;
 
+  @Mock
+  Connection connection;
+
   @Override
   @Test
   public void shouldSetParameter() throws Exception {
@@ -39,6 +45,39 @@ class ArrayTypeHandlerTest extends BaseTypeHandlerTest {
     verify(ps).setArray(1, mockArray);
   }
 
+  @Test
+  void shouldSetJavaArrayParameter() throws Exception {
+    when(ps.getConnection()).thenReturn(connection);
+    String[] value = new String[]{"a", "b"};
+    when(connection.createArrayOf("VARCHAR", value)).thenReturn(mockArray);
+    TYPE_HANDLER.setParameter(ps, 1, value, JdbcType.ARRAY);
+    verify(ps).setArray(1, mockArray);
+    verify(mockArray).free();
+  }
+
+  @Test
+  void shouldSetPrimitiveArrayParameter() throws Exception {
+    when(ps.getConnection()).thenReturn(connection);
+    when(connection.createArrayOf("INTEGER", new Object[]{1, 2})).thenReturn(mockArray);
+    TYPE_HANDLER.setParameter(ps, 1, new int[]{1, 2}, JdbcType.ARRAY);
+    verify(ps).setArray(1, mockArray);
+    verify(mockArray).free();
+  }
+
+  @Test
+  void shouldSetCollectionParameter() throws Exception {
+    when(ps.getConnection()).thenReturn(connection);
+    when(connection.createArrayOf("BIGINT", new Object[]{null, 2L})).thenReturn(mockArray);
+    TYPE_HANDLER.setParameter(ps, 1, Arrays.asList(null, 2L), JdbcType.ARRAY);
+    verify(ps).setArray(1, mockArray);
+    verify(mockArray).free();
+  }
+
+  @Test
+  void shouldFailForNonArrayParameter() {
+    assertThrows(TypeException.class, () -> TYPE_HANDLER.setParameter(ps, 1, "unsupported parameter type", null));
+  }
+
   @Override
   @Test
   public void shouldGetResultFromResultSetByName() throws Exception {
@@ -149,6 +149,14 @@ class TypeHandlerRegistryTest {
     assertEquals(DateTypeHandler.class, typeHandlerRegistry.getTypeHandler(MyDate2.class).getClass());
   }
 
+  @Test
+  void shouldReturnArrayHandlerForCollectionsAndArraysWithArrayJdbcType() {
+    assertEquals(ArrayTypeHandler.class, typeHandlerRegistry.getTypeHandler(List.class, JdbcType.ARRAY).getClass());
+    assertEquals(ArrayTypeHandler.class, typeHandlerRegistry.getTypeHandler(Integer[].class, JdbcType.ARRAY).getClass());
+    assertEquals(ArrayTypeHandler.class, typeHandlerRegistry.getTypeHandler(long[].class, JdbcType.ARRAY).getClass());
+    assertNull(typeHandlerRegistry.getTypeHandler(List.class));
+  }
+
   interface SomeInterface {
   }
 